@@ -21,6 +21,7 @@ module org.microbean.reference {
 
   exports org.microbean.reference;
 
+  requires static java.management;
   requires transitive org.microbean.bean;
   requires org.microbean.construct;
   requires transitive org.microbean.proxy;
@@ -0,0 +1,97 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.reference;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+import org.microbean.reference.DestructorRegistry.BatchDestructor;
+import org.microbean.reference.DestructorRegistry.Destructor;
+
+import static java.util.Collections.singletonList;
+
+import static java.util.Objects.requireNonNull;
+
+// A Destructor that destroys a single instance by means of a BatchDestructor. DefaultDestructorTree recognizes these
+// when it closes and destroys all instances sharing a BatchDestructor with one invocation of it. See
+// BatchDestructor#destructor(Object).
+final class BatchedDestructor<T> implements Destructor {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  private static final VarHandle DESTROYED;
+
+  static {
+    try {
+      DESTROYED = MethodHandles.lookup().findVarHandle(BatchedDestructor.class, "destroyed", boolean.class);
+    } catch (final NoSuchFieldException | IllegalAccessException e) {
+      throw (ExceptionInInitializerError)new ExceptionInInitializerError(e.getMessage()).initCause(e);
+    }
+  }
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  private final BatchDestructor<? super T> batch;
+
+  private final T instance; // nullable
+
+  private volatile boolean destroyed;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  BatchedDestructor(final BatchDestructor<? super T> batch, final T instance) {
+    super();
+    this.batch = requireNonNull(batch, "batch");
+    this.instance = instance;
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  @Override // Destructor
+  public final void destroy() {
+    if (this.claim()) {
+      this.batch.destroy(singletonList(this.instance)); // instance may be null; List.of(Object) would reject it
+    }
+  }
+
+  final BatchDestructor<? super T> batch() {
+    return this.batch;
+  }
+
+  final T instance() {
+    return this.instance;
+  }
+
+  // Returns true if and only if the caller is now responsible for destroying the instance.
+  final boolean claim() {
+    return DESTROYED.compareAndSet(this, false, true);
+  }
+
+}
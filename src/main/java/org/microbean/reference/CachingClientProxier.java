@@ -0,0 +1,209 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.reference;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.microbean.bean.Id;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link ClientProxier} that causes the client proxies produced by a delegate {@link ClientProxier} to cache, per
+ * thread and per {@link Id}, the contextual instances they resolve, and to reuse them for as long as an
+ * <dfn>epoch</dfn> associated with their {@link Id} does not change.
+ *
+ * <p>An epoch is represented by a {@link LongSupplier}, normally supplied by the implementation of the scope to which
+ * contextual instances described by a given {@link Id} belong. It is always {@linkplain LongSupplier#getAsLong()
+ * evaluated} on the thread invoking the client proxy. Its value must change whenever the contextual instance that a
+ * client proxy for the {@link Id} would resolve on that thread may have changed: for example, when the scope is
+ * destroyed, or when a different scope instance becomes active on that thread. A {@link LongSupplier} that reads a
+ * counter maintained by the scope implementation, and incremented on each such event, is typical.</p>
+ *
+ * <p>All client proxies produced by a given {@link CachingClientProxier} for equal {@link Id}s share one cache entry
+ * per thread. Consequently a thread holds at most one cached contextual instance per {@link Id}, no matter how many
+ * client proxies it invokes. That contextual instance remains strongly reachable from the thread, even if it has since
+ * been destroyed, until the thread next invokes a client proxy for the same {@link Id}, at which point it is released
+ * if the epoch has changed, or until the thread terminates, or until this {@link CachingClientProxier} and all client
+ * proxies it has produced become unreachable. Threads that are pooled, and that may go idle for long periods, can
+ * release everything they have cached by invoking {@link #clear()}.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
+ *
+ * @see #clientProxy(Id, Supplier)
+ */
+public final class CachingClientProxier implements ClientProxier {
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  private final ClientProxier delegate;
+
+  private final Function<? super Id, ? extends LongSupplier> epochs;
+
+  // One ThreadLocal per Id, not per client proxy, so that the number of ThreadLocals is bounded by the number of Ids.
+  private final ConcurrentMap<Id, ThreadLocal<Cached>> caches;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link CachingClientProxier}.
+   *
+   * @param delegate a {@link ClientProxier} that will actually produce client proxies; must not be {@code null}
+   *
+   * @param epochs a {@link Function} that returns an epoch for a given {@link Id}, or {@code null} if contextual
+   * instances described by the {@link Id} must not be cached; must not be {@code null}; must be safe for concurrent use
+   * by multiple threads
+   *
+   * @exception NullPointerException if any argument is {@code null}
+   */
+  public CachingClientProxier(final ClientProxier delegate,
+                              final Function<? super Id, ? extends LongSupplier> epochs) {
+    super();
+    this.delegate = requireNonNull(delegate, "delegate");
+    this.epochs = requireNonNull(epochs, "epochs");
+    this.caches = new ConcurrentHashMap<>();
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Releases every contextual instance cached for the current thread by client proxies produced by this {@link
+   * CachingClientProxier}.
+   *
+   * @microbean.threadsafety This method is safe for concurrent use by multiple threads.
+   *
+   * @microbean.idempotency This method is idempotent.
+   */
+  public final void clear() {
+    for (final ThreadLocal<Cached> cache : this.caches.values()) {
+      cache.remove();
+    }
+  }
+
+  /**
+   * Returns a contextual reference, produced by this {@link CachingClientProxier}'s delegate, that is a client proxy
+   * whose resolution of contextual instances via the supplied {@link Supplier} is cached per thread and validated
+   * against the epoch, if any, associated with the supplied {@link Id}.
+   *
+   * <p>If there is no epoch associated with the supplied {@link Id}, the supplied {@link Supplier} is passed to the
+   * delegate as-is.</p>
+   *
+   * @param <R> the type of the contextual reference
+   *
+   * @param id an {@link Id} qualifying the contextual instance that will be proxied; must not be {@code null}
+   *
+   * @param instanceSupplier a {@link Supplier} of contextual instances of the appropriate type; must not be {@code null}
+   *
+   * @return a contextual reference, which may be {@code null}
+   *
+   * @exception NullPointerException if any argument is {@code null}
+   *
+   * @microbean.threadsafety This method is safe for concurrent use by multiple threads.
+   */
+  @Override // ClientProxier
+  public final <R> R clientProxy(final Id id, final Supplier<? extends R> instanceSupplier) {
+    requireNonNull(instanceSupplier, "instanceSupplier");
+    final LongSupplier epoch = this.epochs.apply(requireNonNull(id, "id"));
+    if (epoch == null) {
+      return this.delegate.clientProxy(id, instanceSupplier);
+    }
+    ThreadLocal<Cached> cache = this.caches.get(id);
+    if (cache == null) {
+      cache = this.caches.computeIfAbsent(id, x -> new ThreadLocal<>());
+    }
+    return this.delegate.clientProxy(id, new CachingSupplier<>(instanceSupplier, epoch, cache));
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  private static final class CachingSupplier<R> implements Supplier<R> {
+
+    private final Supplier<? extends R> supplier;
+
+    private final LongSupplier epoch;
+
+    private final ThreadLocal<Cached> cache;
+
+    private CachingSupplier(final Supplier<? extends R> supplier,
+                            final LongSupplier epoch,
+                            final ThreadLocal<Cached> cache) {
+      super();
+      this.supplier = supplier;
+      this.epoch = epoch;
+      this.cache = cache;
+    }
+
+    @Override // Supplier<R>
+    @SuppressWarnings("unchecked")
+    public final R get() {
+      final long epoch = this.epoch.getAsLong();
+      Cached cached = this.cache.get();
+      if (cached == null) {
+        cached = new Cached();
+        this.cache.set(cached);
+      } else if (cached.valid) {
+        if (cached.epoch == epoch) {
+          return (R)cached.instance; // all client proxies sharing this cache are for the same Id
+        }
+        // The epoch has changed, so the cached contextual instance may have been destroyed. Release it before
+        // resolving its replacement, in case resolution fails.
+        cached.valid = false;
+        cached.instance = null;
+      }
+      final R instance = this.supplier.get();
+      cached.epoch = epoch;
+      cached.instance = instance;
+      cached.valid = true;
+      return instance;
+    }
+
+  }
+
+  // Mutable and confined to a single thread, so that cache misses after the first do not allocate.
+  private static final class Cached {
+
+    private long epoch;
+
+    private Object instance;
+
+    private boolean valid;
+
+    private Cached() {
+      super();
+    }
+
+  }
+
+}
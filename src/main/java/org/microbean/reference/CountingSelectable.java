@@ -0,0 +1,138 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.reference;
+
+import java.util.Collection;
+import java.util.List;
+
+import java.util.function.BiPredicate;
+
+import org.microbean.assign.Selectable;
+
+import org.microbean.bean.AmbiguousResolutionException;
+import org.microbean.bean.UnsatisfiedResolutionException;
+
+/**
+ * A {@link Selectable} that can answer questions about the size of a selection without necessarily {@linkplain
+ * #select(Object) materializing} it.
+ *
+ * <p>The default implementations of this interface's methods materialize the selection. Implementations are encouraged
+ * to override them to do less work, for example by stopping as soon as a second matching element is found.</p>
+ *
+ * <p>{@link Request} uses these methods, when its {@link Selectable} is a {@link CountingSelectable}, to implement its
+ * {@link Request#size()}, {@link Request#isUnsatisfied()}, {@link Request#isAmbiguous()} and {@link Request#get()}
+ * methods.</p>
+ *
+ * @param <C> the criteria type
+ *
+ * @param <E> the element type
+ *
+ * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
+ *
+ * @see #filtering(Collection, BiPredicate)
+ */
+public interface CountingSelectable<C, E> extends Selectable<C, E> {
+
+  /**
+   * Returns the number of elements that the {@link #select(Object)} method would return for the supplied criteria.
+   *
+   * <p>The default implementation of this method returns the {@linkplain List#size() size} of the {@link List}
+   * returned by the {@link #select(Object)} method.</p>
+   *
+   * @param criteria the criteria; may be {@code null} if the implementation permits it
+   *
+   * @return the number of elements that the {@link #select(Object)} method would return; never negative
+   */
+  public default int size(final C criteria) {
+    return this.select(criteria).size();
+  }
+
+  /**
+   * Returns {@code true} if and only if the {@link #select(Object)} method would return no elements for the supplied
+   * criteria.
+   *
+   * <p>The default implementation of this method returns whether the {@link List} returned by the {@link
+   * #select(Object)} method {@linkplain List#isEmpty() is empty}.</p>
+   *
+   * @param criteria the criteria; may be {@code null} if the implementation permits it
+   *
+   * @return {@code true} if and only if the {@link #select(Object)} method would return no elements
+   */
+  public default boolean isUnsatisfied(final C criteria) {
+    return this.select(criteria).isEmpty();
+  }
+
+  /**
+   * Returns {@code true} if and only if the {@link #select(Object)} method would return more than one element for the
+   * supplied criteria.
+   *
+   * <p>The default implementation of this method returns whether the {@link List} returned by the {@link
+   * #select(Object)} method has a {@linkplain List#size() size} greater than {@code 1}.</p>
+   *
+   * @param criteria the criteria; may be {@code null} if the implementation permits it
+   *
+   * @return {@code true} if and only if the {@link #select(Object)} method would return more than one element
+   */
+  public default boolean isAmbiguous(final C criteria) {
+    return this.select(criteria).size() > 1;
+  }
+
+  /**
+   * Returns the sole element that the {@link #select(Object)} method would return for the supplied criteria.
+   *
+   * <p>The default implementation of this method inspects the {@link List} returned by the {@link #select(Object)}
+   * method.</p>
+   *
+   * @param criteria the criteria; may be {@code null} if the implementation permits it
+   *
+   * @return the sole element that the {@link #select(Object)} method would return
+   *
+   * @exception UnsatisfiedResolutionException if the {@link #select(Object)} method would return no elements
+   *
+   * @exception AmbiguousResolutionException if the {@link #select(Object)} method would return more than one element,
+   * in which case its {@linkplain AmbiguousResolutionException#alternates() alternates} will be those elements
+   */
+  public default E unique(final C criteria) {
+    final List<E> list = this.select(criteria);
+    return switch (list.size()) {
+    case 0 -> throw new UnsatisfiedResolutionException(criteria, null, null);
+    case 1 -> list.get(0);
+    default -> throw new AmbiguousResolutionException(criteria, list, null);
+    };
+  }
+
+  /**
+   * Returns a {@link CountingSelectable} that selects, in iteration order, those of the supplied elements that the
+   * supplied {@link BiPredicate} accepts for given criteria, and whose {@link #isAmbiguous(Object)} and {@link
+   * #unique(Object)} methods stop testing elements as soon as a second accepted element is found.
+   *
+   * @param <C> the criteria type
+   *
+   * @param <E> the element type
+   *
+   * @param elements a {@link Collection} of elements; must not be {@code null}; copied
+   *
+   * @param p a {@link BiPredicate} accepting criteria and an element, and returning {@code true} if the element should
+   * be selected; must not be {@code null}; must be safe for concurrent use by multiple threads
+   *
+   * @return a non-{@code null} {@link CountingSelectable}
+   *
+   * @exception NullPointerException if any argument is {@code null}
+   */
+  public static <C, E> CountingSelectable<C, E> filtering(final Collection<? extends E> elements,
+                                                          final BiPredicate<? super C, ? super E> p) {
+    return new FilteringSelectable<>(elements, p);
+  }
+
+}
@@ -13,19 +13,34 @@
  */
 package org.microbean.reference;
 
+import java.time.Duration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.Set;
 
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+import org.microbean.reference.DestructorRegistry.BatchDestructor;
 import org.microbean.reference.DestructorRegistry.Destructor;
 
 /**
  * A straightforward {@link DestructorTree} implementation.
  *
+ * <p>A {@link DefaultDestructorTree} created in <dfn>LIFO mode</dfn> (see {@link #DefaultDestructorTree(boolean)})
+ * destroys its registrants in the reverse of the order in which they were {@linkplain #register(Object, Destructor)
+ * registered}, so that dependents are destroyed before what they depend on. It keeps its registrations in an
+ * append-only log, which it scans sequentially when it is {@linkplain #close() closed}. Otherwise, the order in which
+ * registrants are destroyed is unspecified.</p>
+ *
  * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
  *
  * @see DestructorTree
@@ -33,6 +48,18 @@ import org.microbean.reference.DestructorRegistry.Destructor;
 public class DefaultDestructorTree implements DestructorTree {
 
 
+  /*
+   * Static fields.
+   */
+
+
+  // The maximum number of registrations stored in inline fields.
+  private static final int INLINE_CAPACITY = 2;
+
+  // The maximum number of registrations stored in an array, scanned linearly. Beyond this an IdentityHashMap is used.
+  private static final int ARRAY_CAPACITY = 16;
+
+
   /*
    * Instance fields.
    */
@@ -40,8 +67,52 @@ public class DefaultDestructorTree implements DestructorTree {
 
   private final Lock lock;
 
+  private final long created; // System.nanoTime() value
+
+  private final boolean lifo;
+
+  // Storage is adaptive, since most trees hold very few registrations. Up to INLINE_CAPACITY registrations are stored
+  // in the inline fields below (r0/d0 then r1/d1). Up to ARRAY_CAPACITY registrations are stored in entries, which
+  // alternates references and their Destructors in registration order. Beyond that, registrations are stored in
+  // destructors or, in LIFO mode, in log, which, like entries, alternates references and their Destructors in
+  // registration order, with index used only to find the position of a reference's registration in log. Removing a
+  // registration from log tombstones it (nulls both of its slots) rather than shifting log; log is compacted, and index
+  // updated, when tombstones outnumber live registrations. At most one of entries, destructors and log is non-null; if
+  // all are null the inline fields are in use. Storage never shrinks to a smaller representation. In all cases
+  // references are compared by identity.
+
+  // @GuardedBy("lock")
+  private boolean closed;
+
+  // @GuardedBy("lock")
+  private int size;
+
+  // @GuardedBy("lock")
+  private Object r0;
+
+  // @GuardedBy("lock")
+  private Destructor d0;
+
+  // @GuardedBy("lock")
+  private Object r1;
+
+  // @GuardedBy("lock")
+  private Destructor d1;
+
   // @GuardedBy("lock")
-  private Map<Object, Destructor> destructors; // identity hashmap when open for business
+  private Object[] entries;
+
+  // @GuardedBy("lock")
+  private IdentityHashMap<Object, Destructor> destructors; // critical that this is an IdentityHashMap
+
+  // @GuardedBy("lock")
+  private Object[] log; // LIFO mode only
+
+  // @GuardedBy("lock")
+  private int logLength; // the number of registrations in log, including tombstones; half the number of used slots
+
+  // @GuardedBy("lock")
+  private IdentityHashMap<Object, Integer> index; // LIFO mode only; critical that this is an IdentityHashMap
 
 
   /*
@@ -50,11 +121,26 @@ public class DefaultDestructorTree implements DestructorTree {
 
 
   /**
-   * Creates a new {@link DefaultDestructorTree}.
+   * Creates a new {@link DefaultDestructorTree} that is not in LIFO mode.
+   *
+   * @see #DefaultDestructorTree(boolean)
    */
   public DefaultDestructorTree() {
+    this(false);
+  }
+
+  /**
+   * Creates a new {@link DefaultDestructorTree}.
+   *
+   * @param lifo whether the new {@link DefaultDestructorTree}, and every {@link DefaultDestructorTree} returned by its
+   * {@link #newChild()} method, will be in LIFO mode, destroying its registrants in the reverse of the order in which
+   * they were {@linkplain #register(Object, Destructor) registered}
+   */
+  public DefaultDestructorTree(final boolean lifo) {
     super();
     this.lock = new ReentrantLock();
+    this.created = System.nanoTime();
+    this.lifo = lifo;
   }
 
 
@@ -65,7 +151,8 @@ public class DefaultDestructorTree implements DestructorTree {
 
   /*
    * Returns a new {@link DefaultDestructorTree} instance that is not {@linkplain #close() closed}, has no {@linkplain
-   * #register(Object, Destructor) registrations} yet, and is itself {@linkplain #register(Object, Destructor) registered}
+   * #register(Object, Destructor) registrations} yet, is in LIFO mode if and only if this {@link DefaultDestructorTree}
+   * is, and is itself {@linkplain #register(Object, Destructor) registered}
    * as a destructor with this {@link DefaultDestructorTree}.
    *
    * @return a new, {@linkplain #close() unclosed} {@link DefaultDestructorTree} {@linkplain #register(Object, Destructor)
@@ -85,8 +172,8 @@ public class DefaultDestructorTree implements DestructorTree {
    */
   @Override // DestructorTree
   public DefaultDestructorTree newChild() {
-    final DefaultDestructorTree child = new DefaultDestructorTree();
-    if (!this.register(child, child::close)) { // CRITICAL
+    final DefaultDestructorTree child = new DefaultDestructorTree(this.lifo);
+    if (!this.register(child, new ChildCloser(child))) { // CRITICAL
       throw new IllegalStateException();
     }
     return child;
@@ -98,7 +185,14 @@ public class DefaultDestructorTree implements DestructorTree {
    * at registration time}.
    *
    * <p>{@link Destructor#destroy()} is called on all {@linkplain #register(Object, Destructor) registrants}, even in the
-   * presence of exceptions. {@link RuntimeException}s consequently thrown may {@linkplain Throwable#getSuppressed()
+   * presence of exceptions. In LIFO mode they are called in the reverse of the order in which their registrants were
+   * {@linkplain #register(Object, Destructor) registered}. Registrants whose destructors were returned by {@link
+   * BatchDestructor#destructor(Object)} are instead grouped by {@link BatchDestructor}, and each {@link
+   * BatchDestructor} is {@linkplain BatchDestructor#destroy(List) invoked} once with all of its pending instances,
+   * after all other destructors have been run. Children created by {@link #newChild()} are closed as part of this
+   * process rather than independently, wherever they are registered, so such grouping spans this {@link
+   * DefaultDestructorTree} and all such descendants, and each {@link BatchDestructor} is invoked once for all of
+   * them. {@link RuntimeException}s consequently thrown may {@linkplain Throwable#getSuppressed()
    * contain suppressed exceptions}.</p>
    *
    * <p>Overrides of this method wishing to add semantics to this behavior should perform that work before calling
@@ -115,40 +209,67 @@ public class DefaultDestructorTree implements DestructorTree {
    */
   @Override // DestructorTree
   public void close() {
-    Map<Object, Destructor> destructors;
+    final Closing c = this.close(null);
+    if (c != null) {
+      c.finish();
+    }
+  }
+
+  // Closes this DefaultDestructorTree, running the destructors of its registrants, except that instances awaiting
+  // batch destruction are added to the supplied Closing, and so are RuntimeExceptions, rather than being destroyed or
+  // thrown. Children created by newChild() are closed in the same way, with the same Closing, so that a BatchDestructor
+  // is invoked once for a whole hierarchy. Returns the supplied Closing, or a new one if it was null and one was
+  // needed, or null.
+  private final Closing close(Closing c) {
+    final Destructor d0;
+    final Destructor d1;
+    final Object[] entries;
+    final int size;
+    final IdentityHashMap<Object, Destructor> destructors;
+    final Object[] log;
+    final int logLength;
     lock.lock();
     try {
-      destructors = this.destructors;
-      if (destructors == Map.<Object, Destructor>of()) {
-        // Already closed
-        return;
+      if (this.closed) {
+        return c;
       }
-      this.destructors = Map.of();
+      this.closed = true;
+      d0 = this.d0;
+      d1 = this.d1;
+      entries = this.entries;
+      size = this.size;
+      destructors = this.destructors;
+      log = this.log;
+      logLength = this.logLength;
+      this.clear();
+      this.size = 0;
     } finally {
       lock.unlock();
     }
 
-    if (destructors == null) {
-      // nothing to do
-      return;
-    }
-
-    RuntimeException re = null;
-    for (final Destructor d : destructors.values()) {
-      try {
-        d.destroy();
-      } catch (final RuntimeException e) {
-        if (re == null) {
-          re = e;
+    if (destructors != null) {
+      for (final Destructor d : destructors.values()) {
+        c = destroy(d, c);
+      }
+    } else {
+      // Registration order, or its reverse in LIFO mode; a sequential scan in either case.
+      final int length = log == null ? size : logLength;
+      for (int j = 0; j < length; j++) {
+        final int i = this.lifo ? length - 1 - j : j;
+        final Destructor d;
+        if (log != null) {
+          d = (Destructor)log[i * 2 + 1]; // null if tombstoned
+        } else if (entries != null) {
+          d = (Destructor)entries[i * 2 + 1];
         } else {
-          re.addSuppressed(e);
+          d = i == 0 ? d0 : d1;
+        }
+        if (d != null) {
+          c = destroy(d, c);
         }
       }
     }
-
-    if (re != null) {
-      throw re;
-    }
+    return c;
   }
 
   /**
@@ -179,16 +300,117 @@ public class DefaultDestructorTree implements DestructorTree {
     }
     lock.lock();
     try {
-      if (this.destructors == null) {
-        this.destructors = new IdentityHashMap<>(); // critical that this is an IdentityHashMap
-      } else if (this.destructors == Map.<Object, Destructor>of()) {
-        // Already closed; register must therefore be a no-op.
-        return false;
+      // If already closed, register must be a no-op.
+      return !this.closed && this.add(reference, destructor);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * If this {@link DefaultDestructorTree} is not closed, {@linkplain #register(Object, Destructor) registers} each
+   * contextual reference that is a key in the supplied {@link Map} and that has not yet been registered, such that it
+   * will be destroyed by the {@link Destructor} to which it is mapped when this {@link DefaultDestructorTree} is
+   * {@linkplain #close() closed}, and returns the number of such registrations.
+   *
+   * <p>All registrations are performed under a single acquisition of this {@link DefaultDestructorTree}'s lock, and
+   * storage is grown at most once.</p>
+   *
+   * @param registrations a {@link Map} of contextual references to {@link Destructor}s; may be {@code null} in which
+   * case no action will be taken and {@code 0} will be returned; keys and values that are {@code null} are skipped;
+   * non-{@code null} values <strong>must be idempotent and safe for concurrent use by multiple threads</strong>
+   *
+   * @return the number of registrations that were successful; never negative; always {@code 0} if this {@link
+   * DefaultDestructorTree} is closed
+   *
+   * @microbean.threadsafety This method is safe for concurrent use by multiple threads.
+   *
+   * @see #register(Object, Destructor)
+   */
+  @Override // DestructorRegistry
+  public final int registerAll(final Map<?, ? extends Destructor> registrations) {
+    if (registrations == null || registrations.isEmpty()) {
+      return 0;
+    }
+    lock.lock();
+    try {
+      if (this.closed) {
+        // Already closed; registerAll must therefore be a no-op.
+        return 0;
+      }
+      this.ensureCapacity(this.size + registrations.size());
+      int count = 0;
+      for (final Entry<?, ? extends Destructor> e : registrations.entrySet()) {
+        final Object reference = e.getKey();
+        final Destructor destructor = e.getValue();
+        if (reference != null && destructor != null && this.add(reference, destructor)) {
+          ++count;
+        }
+      }
+      return count;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns a non-{@code null} {@link Optional} containing a point-in-time {@link Statistics} snapshot describing this
+   * {@link DefaultDestructorTree} and its descendants.
+   *
+   * <p>Children are those returned by {@link #newChild()} that are still registered, under whatever contextual
+   * reference they may since have been {@linkplain #remove(Object) removed} and re-registered, together with any other
+   * {@linkplain #register(Object, Destructor) registered} contextual instances that are themselves {@link
+   * DestructorTree}s. A child whose {@link DestructorTree#statistics()} method returns an {@linkplain
+   * Optional#isEmpty() empty} {@link Optional} is treated as though it has no registrations.</p>
+   *
+   * <p>The snapshot of each tree in the hierarchy is taken separately, so the returned {@link Statistics} may not
+   * reflect any single moment in the life of a hierarchy that is being concurrently modified.</p>
+   *
+   * @return a non-{@code null} {@link Optional} that is never {@linkplain Optional#isEmpty() empty}
+   *
+   * @microbean.threadsafety This method is safe for concurrent use by multiple threads.
+   */
+  @Override // DestructorTree
+  public Optional<Statistics> statistics() {
+    final Duration age = Duration.ofNanos(System.nanoTime() - this.created);
+    final int size;
+    final boolean closed;
+    final List<DestructorTree> children = new ArrayList<>();
+    lock.lock();
+    try {
+      closed = this.closed;
+      size = this.size;
+      if (this.destructors != null) {
+        for (final Entry<Object, Destructor> e : this.destructors.entrySet()) {
+          child(e.getKey(), e.getValue(), children);
+        }
+      } else if (this.log != null) {
+        for (int i = 0; i < this.logLength * 2; i += 2) {
+          child(this.log[i], (Destructor)this.log[i + 1], children); // no-op if tombstoned
+        }
+      } else if (this.entries != null) {
+        for (int i = 0; i < size * 2; i += 2) {
+          child(this.entries[i], (Destructor)this.entries[i + 1], children);
+        }
+      } else {
+        child(this.r0, this.d0, children);
+        child(this.r1, this.d1, children);
       }
-      return this.destructors.putIfAbsent(reference, destructor) == null;
     } finally {
       lock.unlock();
     }
+    long totalSize = size;
+    int depth = 0;
+    for (final DestructorTree child : children) { // deliberately outside the lock
+      final Optional<Statistics> s = child.statistics();
+      if (s.isPresent()) {
+        totalSize += s.get().totalSize();
+        depth = Math.max(depth, s.get().depth() + 1);
+      } else {
+        depth = Math.max(depth, 1);
+      }
+    }
+    return Optional.of(new Statistics(size, children.size(), totalSize, depth, age, closed));
   }
 
   @Override // DestructorTree
@@ -198,10 +420,363 @@ public class DefaultDestructorTree implements DestructorTree {
     }
     lock.lock();
     try {
-      return this.destructors == null ? null : this.destructors.remove(reference);
+      final Destructor d;
+      if (this.destructors != null) {
+        d = this.destructors.remove(reference);
+      } else if (this.index != null) {
+        final Integer position = this.index.remove(reference);
+        if (position == null) {
+          return null;
+        }
+        final int i = position.intValue() * 2;
+        d = (Destructor)this.log[i + 1];
+        // Tombstone it.
+        this.log[i] = null;
+        this.log[i + 1] = null;
+      } else if (this.entries != null) {
+        final Object[] entries = this.entries;
+        final int length = this.size * 2;
+        int i = 0;
+        while (i < length && entries[i] != reference) {
+          i += 2;
+        }
+        if (i == length) {
+          return null;
+        }
+        d = (Destructor)entries[i + 1];
+        // Preserve registration order.
+        System.arraycopy(entries, i + 2, entries, i, length - i - 2);
+        entries[length - 2] = null;
+        entries[length - 1] = null;
+      } else if (this.r0 == reference) {
+        d = this.d0;
+        this.r0 = this.r1;
+        this.d0 = this.d1;
+        this.r1 = null;
+        this.d1 = null;
+      } else if (this.r1 == reference) {
+        d = this.d1;
+        this.r1 = null;
+        this.d1 = null;
+      } else {
+        return null;
+      }
+      if (d != null) {
+        --this.size;
+        if (this.log != null && this.size < this.logLength / 2) {
+          this.compact();
+        }
+      }
+      return d;
     } finally {
       lock.unlock();
     }
   }
 
+  // Adds a registration if the reference is not already registered. Returns true if the registration was added.
+  // Assumes the lock is held and this tree is not closed.
+  private final boolean add(final Object reference, final Destructor destructor) {
+    if (this.destructors != null) {
+      if (this.destructors.putIfAbsent(reference, destructor) != null) {
+        return false;
+      }
+    } else if (this.index != null) {
+      if (this.index.containsKey(reference)) {
+        return false;
+      }
+      this.append(reference, destructor);
+    } else if (this.entries != null) {
+      Object[] entries = this.entries;
+      final int length = this.size * 2;
+      for (int i = 0; i < length; i += 2) {
+        if (entries[i] == reference) {
+          return false;
+        }
+      }
+      if (this.size < ARRAY_CAPACITY) {
+        if (length == entries.length) {
+          entries = Arrays.copyOf(entries, Math.min(length * 2, ARRAY_CAPACITY * 2));
+          this.entries = entries;
+        }
+        entries[length] = reference;
+        entries[length + 1] = destructor;
+      } else if (this.lifo) {
+        this.toLog(ARRAY_CAPACITY * 2);
+        this.append(reference, destructor);
+      } else {
+        this.toMap(ARRAY_CAPACITY * 2).put(reference, destructor);
+      }
+    } else if (this.r0 == reference || this.r1 == reference) {
+      return false;
+    } else if (this.size == 0) {
+      this.r0 = reference;
+      this.d0 = destructor;
+    } else if (this.size == 1) {
+      this.r1 = reference;
+      this.d1 = destructor;
+    } else {
+      this.toArray(INLINE_CAPACITY * 2);
+      this.entries[4] = reference;
+      this.entries[5] = destructor;
+    }
+    ++this.size;
+    return true;
+  }
+
+  // Ensures that storage can hold the supplied number of registrations, switching representations or growing storage
+  // at most once. Assumes the lock is held and this tree is not closed.
+  private final void ensureCapacity(final int capacity) {
+    if (this.destructors != null) {
+      if (capacity > this.size * 2) {
+        // Growing by this much would have required resizing at least once anyway; resize exactly once.
+        final IdentityHashMap<Object, Destructor> destructors = new IdentityHashMap<>(capacity);
+        destructors.putAll(this.destructors);
+        this.destructors = destructors;
+      }
+    } else if (this.index != null) {
+      final int logCapacity = this.logLength + capacity - this.size; // tombstones are not reclaimed here
+      if (logCapacity * 2 > this.log.length) {
+        this.log = Arrays.copyOf(this.log, logCapacity * 2);
+      }
+      if (capacity > this.size * 2) {
+        final IdentityHashMap<Object, Integer> index = new IdentityHashMap<>(capacity);
+        index.putAll(this.index);
+        this.index = index;
+      }
+    } else if (capacity > ARRAY_CAPACITY) {
+      if (this.lifo) {
+        this.toLog(capacity);
+      } else {
+        this.toMap(capacity);
+      }
+    } else if (capacity > INLINE_CAPACITY) {
+      if (this.entries == null) {
+        this.toArray(capacity);
+      } else if (this.entries.length < capacity * 2) {
+        this.entries = Arrays.copyOf(this.entries, capacity * 2);
+      }
+    }
+  }
+
+  // Moves inline registrations to a new array able to hold the supplied number of registrations. Assumes the lock is
+  // held and entries and destructors are null.
+  private final void toArray(final int capacity) {
+    final Object[] entries = new Object[capacity * 2];
+    entries[0] = this.r0;
+    entries[1] = this.d0;
+    entries[2] = this.r1;
+    entries[3] = this.d1;
+    this.r0 = null;
+    this.d0 = null;
+    this.r1 = null;
+    this.d1 = null;
+    this.entries = entries;
+  }
+
+  // Moves inline or array registrations to a new IdentityHashMap able to hold the supplied number of registrations,
+  // and returns it. Assumes the lock is held and destructors is null.
+  private final IdentityHashMap<Object, Destructor> toMap(final int capacity) {
+    final IdentityHashMap<Object, Destructor> destructors = new IdentityHashMap<>(capacity);
+    if (this.entries == null) {
+      if (this.r0 != null) {
+        destructors.put(this.r0, this.d0);
+      }
+      if (this.r1 != null) {
+        destructors.put(this.r1, this.d1);
+      }
+    } else {
+      for (int i = 0; i < this.size * 2; i += 2) {
+        destructors.put(this.entries[i], (Destructor)this.entries[i + 1]);
+      }
+    }
+    this.clear();
+    this.destructors = destructors;
+    return destructors;
+  }
+
+  // Discards all storage, leaving size unchanged. Assumes the lock is held.
+  private final void clear() {
+    this.r0 = null;
+    this.d0 = null;
+    this.r1 = null;
+    this.d1 = null;
+    this.entries = null;
+    this.destructors = null;
+    this.log = null;
+    this.logLength = 0;
+    this.index = null;
+  }
+
+  // Moves inline or array registrations to a new log and index able to hold the supplied number of registrations.
+  // Assumes the lock is held, this tree is in LIFO mode, and destructors and log are null.
+  private final void toLog(final int capacity) {
+    final Object[] log = new Object[capacity * 2];
+    final int length = this.size * 2;
+    if (this.entries == null) {
+      log[0] = this.r0;
+      log[1] = this.d0;
+      log[2] = this.r1;
+      log[3] = this.d1;
+    } else {
+      System.arraycopy(this.entries, 0, log, 0, length);
+    }
+    final IdentityHashMap<Object, Integer> index = new IdentityHashMap<>(capacity);
+    for (int i = 0; i < length; i += 2) {
+      index.put(log[i], Integer.valueOf(i / 2));
+    }
+    this.clear();
+    this.log = log;
+    this.logLength = this.size;
+    this.index = index;
+  }
+
+  // Appends a registration to the log, growing it if necessary. Assumes the lock is held, log is non-null, and the
+  // reference is not already registered.
+  private final void append(final Object reference, final Destructor destructor) {
+    final int i = this.logLength * 2;
+    if (i == this.log.length) {
+      this.log = Arrays.copyOf(this.log, i * 2);
+    }
+    this.log[i] = reference;
+    this.log[i + 1] = destructor;
+    this.index.put(reference, Integer.valueOf(this.logLength++));
+  }
+
+  // Removes tombstones from the log, preserving registration order, and updates the index to match. Assumes the lock
+  // is held and log is non-null.
+  private final void compact() {
+    final Object[] log = this.log;
+    final int length = this.logLength * 2;
+    int j = 0;
+    for (int i = 0; i < length; i += 2) {
+      final Object reference = log[i];
+      if (reference != null) {
+        if (i != j) {
+          log[j] = reference;
+          log[j + 1] = log[i + 1];
+          this.index.put(reference, Integer.valueOf(j / 2)); // replaces; allocates no new mapping
+        }
+        j += 2;
+      }
+    }
+    Arrays.fill(log, j, length, null);
+    this.logLength = j / 2;
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  // Runs the supplied Destructor, or, if it destroys an instance by means of a BatchDestructor, or closes a child
+  // created by newChild(), defers the work to the supplied Closing. Adds any RuntimeException thrown to the supplied
+  // Closing. Returns the supplied Closing, or a new one if it was null and one was needed, or null.
+  private static final Closing destroy(final Destructor d, Closing c) {
+    if (d instanceof BatchedDestructor<?> bd) {
+      if (bd.claim()) {
+        if (c == null) {
+          c = new Closing();
+        }
+        c.batch(bd.batch(), bd.instance());
+      }
+    } else if (d instanceof ChildCloser cc) {
+      c = cc.child.close(c);
+    } else {
+      try {
+        d.destroy();
+      } catch (final RuntimeException e) {
+        if (c == null) {
+          c = new Closing();
+        }
+        c.add(e);
+      }
+    }
+    return c;
+  }
+
+  // Adds to the supplied List the child DestructorTree, if any, represented by the supplied registration. A child
+  // created by newChild() is recognized by its Destructor, since Request#reference(Bean) may have re-registered it
+  // under a client proxy.
+  private static final void child(final Object reference,
+                                  final Destructor d,
+                                  final List<? super DestructorTree> children) {
+    if (d instanceof ChildCloser cc) {
+      children.add(cc.child);
+    } else if (reference instanceof DestructorTree child) {
+      children.add(child);
+    }
+  }
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  // State accumulated while closing a DefaultDestructorTree and its descendants; see #close(Closing). Created only if
+  // there are instances awaiting batch destruction or RuntimeExceptions to report. Confined to the closing thread.
+  private static final class Closing {
+
+    // Instances awaiting destruction, grouped by BatchDestructor; lazily created
+    private IdentityHashMap<BatchDestructor<?>, List<Object>> batches;
+
+    private RuntimeException re;
+
+    private Closing() {
+      super();
+    }
+
+    private final void batch(final BatchDestructor<?> batch, final Object instance) {
+      if (this.batches == null) {
+        this.batches = new IdentityHashMap<>();
+      }
+      this.batches.computeIfAbsent(batch, b -> new ArrayList<>()).add(instance);
+    }
+
+    private final void add(final RuntimeException e) {
+      if (this.re == null) {
+        this.re = e;
+      } else {
+        this.re.addSuppressed(e);
+      }
+    }
+
+    // Invokes each BatchDestructor once with its instances, and then throws the first RuntimeException, if any, with
+    // any others suppressed.
+    @SuppressWarnings("unchecked")
+    private final void finish() {
+      if (this.batches != null) {
+        for (final Entry<BatchDestructor<?>, List<Object>> e : this.batches.entrySet()) {
+          try {
+            ((BatchDestructor<Object>)e.getKey()).destroy(Collections.unmodifiableList(e.getValue()));
+          } catch (final RuntimeException x) {
+            this.add(x);
+          }
+        }
+      }
+      if (this.re != null) {
+        throw this.re;
+      }
+    }
+
+  }
+
+  // The Destructor with which newChild() registers a child, so that the child can be recognized regardless of the
+  // reference under which it is registered.
+  private static final class ChildCloser implements Destructor {
+
+    private final DefaultDestructorTree child;
+
+    private ChildCloser(final DefaultDestructorTree child) {
+      super();
+      this.child = child;
+    }
+
+    @Override // Destructor
+    public final void destroy() {
+      this.child.close();
+    }
+
+  }
+
 }
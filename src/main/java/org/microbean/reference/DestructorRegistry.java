@@ -13,6 +13,10 @@
  */
 package org.microbean.reference;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
 /**
  * An interface whose implementations can register contextual instances for idempotent destruction at some later point.
  *
@@ -22,6 +26,10 @@ package org.microbean.reference;
  * <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
  *
  * @see #register(Object, Destructor)
+ *
+ * @see #registerAll(Map)
+ *
+ * @see #register(Object, BatchDestructor)
  */
 // Needed by "dependent"/"none" scopes/lifecycle managers.
 // Not used by "normal" factories etc.
@@ -49,6 +57,118 @@ public interface DestructorRegistry {
    */
   public boolean register(final Object instance, final Destructor destructor);
 
+  /**
+   * {@linkplain #register(Object, Destructor) Registers} each contextual instance that is a key in the supplied {@link
+   * Map} with the {@link Destructor} to which it is mapped, and returns the number of registrations that were
+   * successful.
+   *
+   * <p>Implementations are encouraged to override this method to perform the registrations more efficiently than
+   * individual invocations of the {@link #register(Object, Destructor)} method would.</p>
+   *
+   * <p>The default implementation of this method invokes the {@link #register(Object, Destructor)} method once for each
+   * entry in the supplied {@link Map}, in its iteration order.</p>
+   *
+   * @param registrations a {@link Map} of contextual instances to {@link Destructor}s; may be {@code null} in which case
+   * no action will be taken and {@code 0} will be returned; keys and values that are {@code null} are skipped; an
+   * {@link java.util.IdentityHashMap} is often suitable
+   *
+   * @return the number of registrations that were successful; never negative
+   *
+   * @see #register(Object, Destructor)
+   */
+  public default int registerAll(final Map<?, ? extends Destructor> registrations) {
+    if (registrations == null) {
+      return 0;
+    }
+    int count = 0;
+    for (final Entry<?, ? extends Destructor> e : registrations.entrySet()) {
+      if (this.register(e.getKey(), e.getValue())) {
+        ++count;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * {@linkplain #register(Object, Destructor) Registers} the supplied contextual instance such that at some future
+   * moment, or perhaps not at all, it will be destroyed idempotently by the supplied {@link BatchDestructor}, possibly
+   * together with other contextual instances registered with the same {@link BatchDestructor}, and returns {@code true}
+   * if and only if the registration was successful.
+   *
+   * <p>The default implementation of this method returns the result of invoking the {@link #register(Object,
+   * Destructor)} method with the supplied contextual instance and the result of invoking the {@link
+   * BatchDestructor#destructor(Object)} method on the supplied {@link BatchDestructor} with it.</p>
+   *
+   * @param <T> the type of the contextual instance
+   *
+   * @param instance a contextual instance; may be {@code null} in which case no action will be taken and {@code false}
+   * will be returned
+   *
+   * @param batch a {@link BatchDestructor}; may be {@code null} in which case no action will be taken and {@code false}
+   * will be returned
+   *
+   * @return {@code true} if and only if registration was successful; {@code false} otherwise
+   *
+   * @see BatchDestructor
+   */
+  public default <T> boolean register(final T instance, final BatchDestructor<? super T> batch) {
+    return instance != null && batch != null && this.register(instance, batch.destructor(instance));
+  }
+
+  /**
+   * An interface whose implementations can <dfn>destroy</dfn> many objects of the same kind at once, more cheaply than
+   * destroying each of them individually.
+   *
+   * <p>A {@link DestructorRegistry} that recognizes the {@link Destructor}s returned by the {@link #destructor(Object)}
+   * method, such as {@link DefaultDestructorTree}, may, when it destroys its registrants, invoke the {@link
+   * #destroy(List)} method once with all of its pending instances that share a {@link BatchDestructor}, rather than
+   * once per instance.</p>
+   *
+   * @param <T> the type of the objects to be destroyed
+   *
+   * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
+   *
+   * @see #destroy(List)
+   *
+   * @see DestructorRegistry#register(Object, BatchDestructor)
+   */
+  @FunctionalInterface
+  public static interface BatchDestructor<T> {
+
+    /**
+     * Destroys the supplied objects such that they will no longer be suitable for use.
+     *
+     * <p>Implementations of this method must be safe for concurrent use by multiple threads.</p>
+     *
+     * <p>Any given object will be supplied to this method at most once by the {@link Destructor}s returned by the
+     * {@link #destructor(Object)} method.</p>
+     *
+     * @param instances an unmodifiable, non-empty {@link List} of objects to destroy; never {@code null}
+     */
+    public void destroy(final List<? extends T> instances);
+
+    /**
+     * Returns a non-{@code null}, idempotent {@link Destructor} that, when {@linkplain Destructor#destroy() run}
+     * individually, destroys the supplied object by invoking the {@link #destroy(List)} method with a {@link List}
+     * containing only it, and that {@link DefaultDestructorTree} recognizes so that it can destroy the supplied object
+     * together with others that share this {@link BatchDestructor}.
+     *
+     * <p>Overrides of this method will defeat batching.</p>
+     *
+     * @param instance the object to destroy; may be {@code null}
+     *
+     * @return a non-{@code null}, idempotent {@link Destructor}
+     *
+     * @microbean.idempotency This method returns a new {@link Destructor} each time it is invoked.
+     *
+     * @microbean.threadsafety This method is safe for concurrent use by multiple threads.
+     */
+    public default Destructor destructor(final T instance) {
+      return new BatchedDestructor<>(this, instance);
+    }
+
+  }
+
   /**
    * An interface indicating that an implementation is capable of <dfn>destroying</dfn> an object that it opaquely
    * references such that the destroyed object will no longer be suitable for use.
@@ -13,6 +13,12 @@
  */
 package org.microbean.reference;
 
+import java.time.Duration;
+
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
 /**
  * A hierarchical {@link DestructorRegistry} that is {@link AutoCloseable}.
  *
@@ -23,14 +29,16 @@ package org.microbean.reference;
  *
  * @see #close()
  *
+ * @see #statistics()
+ *
  * @see DestructorRegistry
  */
 public interface DestructorTree extends AutoCloseable, DestructorRegistry {
 
   /**
    * Creates a new <dfn>child</dfn> instance of this implementation, or a subtype, {@linkplain #register(Object,
-   * Destructor) registers it} with this implementation, using a method reference to its {@link #close()} method as the
-   * {@link Destructor}, and returns it.
+   * Destructor) registers it} with this implementation, under its own identity, using a {@link Destructor} that
+   * {@linkplain #close() closes} it, and returns it.
    *
    * @return a new (non-{@code null}) child instance of this implementation, or a subtype, {@linkplain #register(Object,
    * Destructor) registered} with this implementation such that {@link #close() closing} this implementation will also
@@ -65,4 +73,81 @@ public interface DestructorTree extends AutoCloseable, DestructorRegistry {
    */
   public Destructor remove(final Object instance);
 
+  /**
+   * Returns a non-{@code null} {@link Optional} containing a point-in-time {@link Statistics} snapshot describing this
+   * {@link DestructorTree} and its descendants, or an {@linkplain Optional#isEmpty() empty} {@link Optional} if this
+   * {@link DestructorTree} does not support introspection.
+   *
+   * <p>The default implementation of this method returns an {@linkplain Optional#empty() empty} {@link Optional}.</p>
+   *
+   * @return a non-{@code null} {@link Optional}
+   *
+   * @see Statistics
+   */
+  public default Optional<Statistics> statistics() {
+    return Optional.empty();
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  /**
+   * A read-only, point-in-time snapshot of the state of a {@link DestructorTree}.
+   *
+   * @param size the number of registrations held directly by the {@link DestructorTree}, including registrations of
+   * its children; must not be negative
+   *
+   * @param children the number of {@linkplain DestructorTree#newChild() children} the {@link DestructorTree} directly
+   * holds; must not be negative
+   *
+   * @param totalSize the number of registrations held by the {@link DestructorTree} and all of its descendants; must
+   * not be negative
+   *
+   * @param depth the number of levels of descendants below the {@link DestructorTree}: {@code 0} if it has no children,
+   * {@code 1} if its children have no children, and so on; must not be negative
+   *
+   * @param age the {@link Duration} for which the {@link DestructorTree} has existed; must not be {@code null}
+   *
+   * @param closed whether the {@link DestructorTree} has been {@linkplain DestructorTree#close() closed}
+   *
+   * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
+   *
+   * @see DestructorTree#statistics()
+   */
+  public static record Statistics(int size, int children, long totalSize, int depth, Duration age, boolean closed) {
+
+    /**
+     * Creates a new {@link Statistics}.
+     *
+     * @param size the number of registrations held directly by the {@link DestructorTree}, including registrations
+     * of its children; must not be negative
+     *
+     * @param children the number of {@linkplain DestructorTree#newChild() children} the {@link DestructorTree}
+     * directly holds; must not be negative
+     *
+     * @param totalSize the number of registrations held by the {@link DestructorTree} and all of its descendants; must
+     * not be negative
+     *
+     * @param depth the number of levels of descendants below the {@link DestructorTree}; must not be negative
+     *
+     * @param age the {@link Duration} for which the {@link DestructorTree} has existed; must not be {@code null}
+     *
+     * @param closed whether the {@link DestructorTree} has been {@linkplain DestructorTree#close() closed}
+     *
+     * @exception IllegalArgumentException if any {@code int} or {@code long} argument is negative
+     *
+     * @exception NullPointerException if {@code age} is {@code null}
+     */
+    public Statistics {
+      if (size < 0 || children < 0 || totalSize < 0 || depth < 0) {
+        throw new IllegalArgumentException();
+      }
+      requireNonNull(age, "age");
+    }
+
+  }
+
 }
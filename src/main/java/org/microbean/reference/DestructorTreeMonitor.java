@@ -0,0 +1,282 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.reference;
+
+import java.lang.management.ManagementFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.microbean.reference.DestructorTree.Statistics;
+
+/**
+ * A {@link DestructorTreeMonitorMXBean} implementation that aggregates {@linkplain DestructorTree#statistics()
+ * statistics} of the {@link DestructorTree}s of all open root {@link Request}s.
+ *
+ * <p>Monitoring is off by default. Once {@linkplain #install() installed}, every {@link Request} created by one of its
+ * public constructors is tracked, weakly, until its {@link DestructorTree} is {@linkplain DestructorTree#close()
+ * closed}.</p>
+ *
+ * <p>All attributes are computed together, from one pass over the tracked {@link DestructorTree}s, and that
+ * computation is reused by attribute reads for up to one second, so that a single poll reading several attributes
+ * does not repeat it. {@link DestructorTree}s that cannot be introspected are {@linkplain
+ * #getUnintrospectableTreeCount() counted} but otherwise not reflected.</p>
+ *
+ * <p>This module's dependency on the {@code java.management} module is optional. Using this class requires that the
+ * {@code java.management} module be present at run time, for example by means of {@code --add-modules
+ * java.management}. {@link Request} does not depend on this class.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
+ *
+ * @see #install()
+ *
+ * @see DestructorTreeMonitorMXBean
+ */
+public final class DestructorTreeMonitor implements DestructorTreeMonitorMXBean {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  /**
+   * The {@link ObjectName} under which the installed {@link DestructorTreeMonitor} is registered with the {@linkplain
+   * ManagementFactory#getPlatformMBeanServer() platform <code>MBeanServer</code>}: {@value}.
+   *
+   * @see #install()
+   */
+  public static final String OBJECT_NAME = "org.microbean.reference:type=DestructorTreeMonitor";
+
+  // How long a Snapshot serves attribute reads before another is taken.
+  private static final long MAX_SNAPSHOT_AGE_NANOS = 1_000_000_000L;
+
+  private static final Lock installationLock = new ReentrantLock();
+
+  // @GuardedBy("installationLock") for writes
+  private static volatile DestructorTreeMonitor installed;
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  private final DestructorTreeTracker tracker;
+
+  private final Lock snapshotLock;
+
+  // Shared by all attribute reads made within MAX_SNAPSHOT_AGE_NANOS of one another, so that a single poll reading
+  // several attributes walks the tracked trees once.
+  // @GuardedBy("snapshotLock")
+  private Snapshot snapshot;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  private DestructorTreeMonitor() {
+    super();
+    this.tracker = new DestructorTreeTracker();
+    this.snapshotLock = new ReentrantLock();
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  @Override // DestructorTreeMonitorMXBean
+  public final int getOpenTreeCount() {
+    return this.snapshot().openTreeCount;
+  }
+
+  @Override // DestructorTreeMonitorMXBean
+  public final long getEntryCount() {
+    return this.snapshot().entryCount;
+  }
+
+  @Override // DestructorTreeMonitorMXBean
+  public final int getMaxDepth() {
+    return this.snapshot().depthDistribution.length - 1;
+  }
+
+  @Override // DestructorTreeMonitorMXBean
+  public final long[] getDepthDistribution() {
+    final long[] distribution = this.snapshot().depthDistribution;
+    return distribution.length == 1 && distribution[0] == 0L ? new long[0] : distribution.clone();
+  }
+
+  @Override // DestructorTreeMonitorMXBean
+  public final long getOldestTreeAgeMillis() {
+    return this.snapshot().oldestTreeAgeMillis;
+  }
+
+  @Override // DestructorTreeMonitorMXBean
+  public final int getUnintrospectableTreeCount() {
+    return this.snapshot().unintrospectableTreeCount;
+  }
+
+  // Returns the current Snapshot, taking a new one if it is older than MAX_SNAPSHOT_AGE_NANOS.
+  private final Snapshot snapshot() {
+    this.snapshotLock.lock();
+    try {
+      Snapshot snapshot = this.snapshot;
+      if (snapshot == null || System.nanoTime() - snapshot.taken > MAX_SNAPSHOT_AGE_NANOS) {
+        final List<Statistics> statistics = new ArrayList<>();
+        final int unintrospectable = this.tracker.statistics(statistics); // under the lock, so concurrent reads share it
+        snapshot = new Snapshot(statistics, unintrospectable);
+        this.snapshot = snapshot;
+      }
+      return snapshot;
+    } finally {
+      this.snapshotLock.unlock();
+    }
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  /**
+   * Installs a {@link DestructorTreeMonitor}, if one is not already installed, registers it with the {@linkplain
+   * ManagementFactory#getPlatformMBeanServer() platform <code>MBeanServer</code>} under the {@link ObjectName}
+   * represented by {@link #OBJECT_NAME}, and returns it.
+   *
+   * <p>Only root {@link Request}s created after this method has been invoked are tracked.</p>
+   *
+   * @return the installed, non-{@code null} {@link DestructorTreeMonitor}
+   *
+   * @exception ReferenceException if registration failed
+   *
+   * @microbean.idempotency This method is idempotent.
+   *
+   * @microbean.threadsafety This method is safe for concurrent use by multiple threads.
+   *
+   * @see #uninstall()
+   */
+  public static final DestructorTreeMonitor install() {
+    installationLock.lock();
+    try {
+      DestructorTreeMonitor monitor = installed;
+      if (monitor == null) {
+        monitor = new DestructorTreeMonitor();
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+          server.registerMBean(monitor, new ObjectName(OBJECT_NAME));
+        } catch (final JMException e) {
+          throw new ReferenceException(e.getMessage(), e);
+        }
+        installed = monitor;
+        DestructorTreeTracker.activate(monitor.tracker);
+      }
+      return monitor;
+    } finally {
+      installationLock.unlock();
+    }
+  }
+
+  /**
+   * Uninstalls the installed {@link DestructorTreeMonitor}, if there is one, unregistering it from the {@linkplain
+   * ManagementFactory#getPlatformMBeanServer() platform <code>MBeanServer</code>}, and returns {@code true} if and only
+   * if a {@link DestructorTreeMonitor} was uninstalled.
+   *
+   * @return {@code true} if and only if a {@link DestructorTreeMonitor} was uninstalled
+   *
+   * @exception ReferenceException if unregistration failed
+   *
+   * @microbean.idempotency This method is idempotent.
+   *
+   * @microbean.threadsafety This method is safe for concurrent use by multiple threads.
+   *
+   * @see #install()
+   */
+  public static final boolean uninstall() {
+    installationLock.lock();
+    try {
+      if (installed == null) {
+        return false;
+      }
+      installed = null;
+      DestructorTreeTracker.activate(null);
+      try {
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(OBJECT_NAME));
+      } catch (final JMException e) {
+        throw new ReferenceException(e.getMessage(), e);
+      }
+      return true;
+    } finally {
+      installationLock.unlock();
+    }
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  // Aggregated Statistics, immutable once constructed.
+  private static final class Snapshot {
+
+    private final long taken; // System.nanoTime() value
+
+    private final int openTreeCount;
+
+    private final long entryCount;
+
+    private final long[] depthDistribution; // never empty; index 0 always present
+
+    private final long oldestTreeAgeMillis;
+
+    private final int unintrospectableTreeCount;
+
+    private Snapshot(final List<? extends Statistics> statistics, final int unintrospectableTreeCount) {
+      super();
+      long entryCount = 0L;
+      long oldest = 0L;
+      long[] distribution = new long[1];
+      for (final Statistics s : statistics) {
+        entryCount += s.totalSize();
+        oldest = Math.max(oldest, s.age().toMillis());
+        final int depth = s.depth();
+        if (depth >= distribution.length) {
+          distribution = Arrays.copyOf(distribution, depth + 1);
+        }
+        ++distribution[depth];
+      }
+      this.taken = System.nanoTime();
+      this.openTreeCount = statistics.size();
+      this.entryCount = entryCount;
+      this.depthDistribution = distribution;
+      this.oldestTreeAgeMillis = oldest;
+      this.unintrospectableTreeCount = unintrospectableTreeCount;
+    }
+
+  }
+
+}
@@ -0,0 +1,86 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.reference;
+
+/**
+ * A JMX MXBean interface describing the live {@link DestructorTree}s of all open root {@link Request}s.
+ *
+ * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
+ *
+ * @see DestructorTreeMonitor
+ */
+public interface DestructorTreeMonitorMXBean {
+
+  /**
+   * Returns the number of open {@link DestructorTree}s belonging to root {@link Request}s.
+   *
+   * @return the number of open {@link DestructorTree}s belonging to root {@link Request}s; never negative
+   */
+  public int getOpenTreeCount();
+
+  /**
+   * Returns the total number of registrations held by the open {@link DestructorTree}s belonging to root {@link
+   * Request}s and all of their descendants.
+   *
+   * @return the total number of registrations; never negative
+   *
+   * @see DestructorTree.Statistics#totalSize()
+   */
+  public long getEntryCount();
+
+  /**
+   * Returns the greatest {@linkplain DestructorTree.Statistics#depth() depth} of any open {@link DestructorTree}
+   * belonging to a root {@link Request}.
+   *
+   * @return the greatest depth; never negative
+   *
+   * @see DestructorTree.Statistics#depth()
+   */
+  public int getMaxDepth();
+
+  /**
+   * Returns a histogram of the {@linkplain DestructorTree.Statistics#depth() depths} of the open {@link
+   * DestructorTree}s belonging to root {@link Request}s, such that the element at index <var>n</var> is the number of
+   * such trees whose depth is <var>n</var>.
+   *
+   * @return a non-{@code null} array of counts
+   *
+   * @see DestructorTree.Statistics#depth()
+   */
+  public long[] getDepthDistribution();
+
+  /**
+   * Returns the age, in milliseconds, of the oldest open {@link DestructorTree} belonging to a root {@link Request}, or
+   * {@code 0} if there is no such tree.
+   *
+   * @return the age, in milliseconds, of the oldest open {@link DestructorTree} belonging to a root {@link Request};
+   * never negative
+   *
+   * @see DestructorTree.Statistics#age()
+   */
+  public long getOldestTreeAgeMillis();
+
+  /**
+   * Returns the number of {@link DestructorTree}s belonging to root {@link Request}s that are tracked but cannot be
+   * introspected, because their {@link DestructorTree#statistics()} methods return {@linkplain
+   * java.util.Optional#isEmpty() empty} {@link java.util.Optional}s, and which are therefore not reflected by any other
+   * attribute.
+   *
+   * @return the number of {@link DestructorTree}s that cannot be introspected; never negative
+   *
+   * @see DestructorTree#statistics()
+   */
+  public int getUnintrospectableTreeCount();
+
+}
@@ -0,0 +1,165 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.reference;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.microbean.reference.DestructorTree.Statistics;
+
+// Weakly tracks the DestructorTrees of root Requests while a DestructorTreeMonitor is installed. Request's
+// constructors call opened(DestructorTree), so this class must not refer to any java.management types:
+// java.management is an optional dependency. Trees are spread across independently locked stripes so that concurrent
+// Request creation does not contend on a single lock.
+final class DestructorTreeTracker {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  private static volatile DestructorTreeTracker active;
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  private final Stripe[] stripes; // length is a power of two
+
+
+  /*
+   * Constructors.
+   */
+
+
+  DestructorTreeTracker() {
+    super();
+    final int processors = Runtime.getRuntime().availableProcessors();
+    int n = 1;
+    while (n < processors * 4) {
+      n <<= 1;
+    }
+    this.stripes = new Stripe[n];
+    for (int i = 0; i < n; i++) {
+      this.stripes[i] = new Stripe();
+    }
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  // Adds Statistics for every open tracked tree to the supplied List, forgetting those that have been closed, and
+  // returns the number of tracked trees that cannot be introspected (whose statistics() is empty). Such trees remain
+  // tracked, weakly, since whether they have been closed cannot be determined.
+  final int statistics(final List<? super Statistics> statistics) {
+    int unintrospectable = 0;
+    final List<DestructorTree> untracked = new ArrayList<>();
+    for (final Stripe stripe : this.stripes) {
+      final List<DestructorTree> trees;
+      stripe.lock.lock();
+      try {
+        if (stripe.trees.isEmpty()) {
+          continue;
+        }
+        trees = new ArrayList<>(stripe.trees);
+      } finally {
+        stripe.lock.unlock();
+      }
+      untracked.clear();
+      for (final DestructorTree tree : trees) { // deliberately outside the lock
+        final Optional<Statistics> s = tree.statistics();
+        if (s.isEmpty()) {
+          ++unintrospectable;
+        } else if (s.get().closed()) {
+          untracked.add(tree);
+        } else {
+          statistics.add(s.get());
+        }
+      }
+      if (!untracked.isEmpty()) {
+        stripe.lock.lock();
+        try {
+          stripe.trees.removeAll(untracked);
+        } finally {
+          stripe.lock.unlock();
+        }
+      }
+    }
+    return unintrospectable;
+  }
+
+  private final void track(final DestructorTree tree) {
+    final Stripe stripe = this.stripes[System.identityHashCode(tree) & (this.stripes.length - 1)];
+    stripe.lock.lock();
+    try {
+      stripe.trees.add(tree);
+    } finally {
+      stripe.lock.unlock();
+    }
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  // Makes the supplied DestructorTreeTracker (which may be null) the one to which opened(DestructorTree) delegates.
+  static final void activate(final DestructorTreeTracker tracker) {
+    active = tracker; // volatile write
+  }
+
+  // Called by Request's public constructors.
+  static final void opened(final DestructorTree tree) {
+    final DestructorTreeTracker tracker = active; // volatile read
+    if (tracker != null) {
+      tracker.track(tree);
+    }
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  private static final class Stripe {
+
+    private final Lock lock;
+
+    // @GuardedBy("lock")
+    private final Set<DestructorTree> trees;
+
+    private Stripe() {
+      super();
+      this.lock = new ReentrantLock();
+      this.trees = Collections.newSetFromMap(new WeakHashMap<>());
+    }
+
+  }
+
+}
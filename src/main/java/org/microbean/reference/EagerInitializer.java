@@ -0,0 +1,250 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.reference;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import java.util.function.Predicate;
+
+import javax.lang.model.AnnotatedConstruct;
+
+import javax.lang.model.element.Element;
+
+import org.microbean.assign.Annotated;
+import org.microbean.assign.Selectable;
+
+import org.microbean.bean.Bean;
+import org.microbean.bean.Id;
+
+import org.microbean.proxy.Proxy;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A utility for eagerly, and concurrently, creating the contextual instances of {@linkplain Instances#proxiable(Id)
+ * proxiable} {@link Bean}s, which would otherwise be created lazily, serially, by the first live requests to use them.
+ *
+ * <p>Only the contextual instances of {@link Bean}s deemed <dfn>eligible</dfn> by the {@link Predicate} supplied at
+ * construction time are created. Normally these are the {@link Bean}s whose contextual instances are singleton- or
+ * application-scoped, and so live as long as the system does. Contextual instances belonging to shorter-lived scopes,
+ * such as request or session scopes, must not be created eagerly, since no such scope is active, or the wrong one
+ * is.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
+ *
+ * @see #initialize(Collection, Request)
+ */
+public final class EagerInitializer {
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  private final Selectable<? super Annotated<? extends AnnotatedConstruct>, Bean<?>> beans;
+
+  private final Instances instances;
+
+  private final Predicate<? super Id> eligible;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link EagerInitializer}.
+   *
+   * @param s a {@link Selectable} providing access to {@link Bean}s by {@link AnnotatedConstruct}, used to determine
+   * dependencies between {@link Bean}s; must not be {@code null}; must be safe for concurrent use by multiple threads;
+   * normally the same {@link Selectable} used by the {@link Request} that will be supplied to the {@link
+   * #initialize(Collection, Request)} method
+   *
+   * @param instances an {@link Instances}, used to determine which {@link Bean}s are proxiable; must not be {@code
+   * null}; normally the same {@link Instances} used by the {@link Request} that will be supplied to the {@link
+   * #initialize(Collection, Request)} method
+   *
+   * @param eligible a {@link Predicate} that returns {@code true} only for the {@link Id}s of {@link Bean}s whose
+   * contextual instances may be created eagerly, normally those that are singleton- or application-scoped; must not be
+   * {@code null}; must be safe for concurrent use by multiple threads
+   *
+   * @exception NullPointerException if any argument is {@code null}
+   */
+  public EagerInitializer(final Selectable<? super Annotated<? extends AnnotatedConstruct>, Bean<?>> s,
+                          final Instances instances,
+                          final Predicate<? super Id> eligible) {
+    super();
+    this.beans = requireNonNull(s, "s");
+    this.instances = requireNonNull(instances, "instances");
+    this.eligible = requireNonNull(eligible, "eligible");
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Eagerly creates the contextual instances of those of the supplied {@link Bean}s that are both eligible and
+   * {@linkplain Instances#proxiable(Id) proxiable}, using the supplied {@link Request}, concurrently where possible.
+   *
+   * <p>Eligible, proxiable {@link Bean}s are ordered by their {@linkplain Bean#dependencies() dependencies} on one
+   * another into levels, such that no {@link Bean} in a level depends on a {@link Bean} in the same or a later level.
+   * (Any {@link Bean}s involved in dependency cycles are placed together in a final level.) The contextual instances of
+   * all {@link Bean}s in a level are created concurrently, each on its own virtual thread, and all of them are created
+   * before any in the next level. A {@link Bean} that depends on a {@link Bean} whose contextual instance could not be
+   * created, or that was itself skipped, is skipped.</p>
+   *
+   * <p>A contextual instance is created by {@linkplain Request#reference(Bean) acquiring a client proxy} from the
+   * supplied {@link Request} and {@linkplain Proxy#$proxied() resolving} it. Any destruction-related state is therefore
+   * registered with the supplied {@link Request}'s {@link DestructorTree}. If the client proxy is not a {@link Proxy},
+   * no contextual instance is created.</p>
+   *
+   * @param beans a {@link Collection} of {@link Bean}s, normally all {@link Bean}s in the system, of which only the
+   * eligible, proxiable ones will have their contextual instances created; must not be {@code null}
+   *
+   * @param request a {@link Request}, normally a root {@link Request} that lives as long as the system does; must not be
+   * {@code null}
+   *
+   * @exception NullPointerException if any argument is {@code null}
+   *
+   * @exception ReferenceException if any contextual instance could not be created, in which case it will have a
+   * {@linkplain Throwable#getCause() cause} and possibly {@linkplain Throwable#getSuppressed() suppressed exceptions}
+   * describing all such failures, and all contextual instances that could be created will have been created, or if the
+   * calling thread is interrupted, in which case its interrupted status will be set
+   */
+  public final void initialize(final Collection<? extends Bean<?>> beans, final Request<?, ?> request) {
+    requireNonNull(request, "request");
+    final List<List<Bean<?>>> levels = this.levels(beans);
+    final Set<Bean<?>> unavailable = new HashSet<>(); // failed or skipped
+    ReferenceException re = null;
+    for (final List<Bean<?>> level : levels) {
+      final Map<Bean<?>, Future<?>> futures = new LinkedHashMap<>();
+      try (final ExecutorService e = Executors.newVirtualThreadPerTaskExecutor()) {
+        for (final Bean<?> b : level) {
+          if (this.dependsOnAny(b, unavailable)) {
+            unavailable.add(b); // skipped
+          } else {
+            futures.put(b, e.submit(() -> {
+                  if (request.reference(b) instanceof Proxy<?> p) {
+                    p.$proxied();
+                  }
+                }));
+          }
+        } // e.close() waits for all tasks to complete; if interrupted, it cancels them and re-interrupts
+      }
+      if (Thread.currentThread().isInterrupted()) {
+        throw new ReferenceException("interrupted");
+      }
+      for (final Map.Entry<Bean<?>, Future<?>> entry : futures.entrySet()) {
+        final Future<?> f = entry.getValue();
+        if (f.state() == Future.State.FAILED) {
+          final Throwable t = f.exceptionNow();
+          unavailable.add(entry.getKey());
+          if (re == null) {
+            re = new ReferenceException(t.getMessage(), t);
+          } else {
+            re.addSuppressed(t);
+          }
+        }
+      }
+    }
+    if (re != null) {
+      throw re;
+    }
+  }
+
+  // Returns the eligible, proxiable beans among the supplied beans, grouped into levels by dependency order.
+  private final List<List<Bean<?>>> levels(final Collection<? extends Bean<?>> beans) {
+    // Gather eligible, proxiable beans and their dependencies on one another.
+    final Map<Bean<?>, Set<Bean<?>>> dependencies = new LinkedHashMap<>();
+    for (final Bean<?> b : beans) {
+      final Id id = b.id();
+      if (this.eligible.test(id) && this.instances.proxiable(id)) {
+        dependencies.put(b, new HashSet<>());
+      }
+    }
+    final Map<Bean<?>, List<Bean<?>>> dependents = new HashMap<>();
+    for (final Map.Entry<Bean<?>, Set<Bean<?>>> e : dependencies.entrySet()) {
+      final Bean<?> b = e.getKey();
+      for (final Annotated<? extends Element> d : b.dependencies()) {
+        for (final Bean<?> dependency : this.beans.select(d)) {
+          if (!dependency.equals(b) && dependencies.containsKey(dependency) && e.getValue().add(dependency)) {
+            dependents.computeIfAbsent(dependency, x -> new ArrayList<>()).add(b);
+          }
+        }
+      }
+    }
+
+    // Kahn's algorithm, one level at a time.
+    final Map<Bean<?>, Integer> remaining = new LinkedHashMap<>();
+    List<Bean<?>> level = new ArrayList<>();
+    for (final Map.Entry<Bean<?>, Set<Bean<?>>> e : dependencies.entrySet()) {
+      final int size = e.getValue().size();
+      if (size == 0) {
+        level.add(e.getKey());
+      } else {
+        remaining.put(e.getKey(), size);
+      }
+    }
+    final List<List<Bean<?>>> levels = new ArrayList<>();
+    while (!level.isEmpty()) {
+      levels.add(level);
+      final List<Bean<?>> next = new ArrayList<>();
+      for (final Bean<?> b : level) {
+        for (final Bean<?> dependent : dependents.getOrDefault(b, List.of())) {
+          final int count = remaining.merge(dependent, -1, Integer::sum);
+          if (count == 0) {
+            remaining.remove(dependent);
+            next.add(dependent);
+          }
+        }
+      }
+      level = next;
+    }
+    if (!remaining.isEmpty()) {
+      // Dependency cycles; client proxies permit these.
+      levels.add(new ArrayList<>(remaining.keySet()));
+    }
+    return levels;
+  }
+
+  private final boolean dependsOnAny(final Bean<?> b, final Set<? extends Bean<?>> beans) {
+    if (!beans.isEmpty()) {
+      for (final Annotated<? extends Element> d : b.dependencies()) {
+        for (final Bean<?> dependency : this.beans.select(d)) {
+          if (beans.contains(dependency)) {
+            return true;
+          }
+        }
+      }
+    }
+    return false;
+  }
+
+}
@@ -0,0 +1,108 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.reference;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import java.util.function.BiPredicate;
+
+import org.microbean.bean.AmbiguousResolutionException;
+import org.microbean.bean.UnsatisfiedResolutionException;
+
+import static java.util.Collections.unmodifiableList;
+
+import static java.util.Objects.requireNonNull;
+
+// See CountingSelectable#filtering(Collection, BiPredicate).
+final class FilteringSelectable<C, E> implements CountingSelectable<C, E> {
+
+  private final List<E> elements;
+
+  private final BiPredicate<? super C, ? super E> p;
+
+  FilteringSelectable(final Collection<? extends E> elements, final BiPredicate<? super C, ? super E> p) {
+    super();
+    this.elements = List.copyOf(elements);
+    this.p = requireNonNull(p, "p");
+  }
+
+  @Override // Selectable<C, E>
+  public final List<E> select(final C criteria) {
+    final List<E> list = new ArrayList<>();
+    for (final E e : this.elements) {
+      if (this.p.test(criteria, e)) {
+        list.add(e);
+      }
+    }
+    return unmodifiableList(list);
+  }
+
+  @Override // CountingSelectable<C, E>
+  public final int size(final C criteria) {
+    int size = 0;
+    for (final E e : this.elements) {
+      if (this.p.test(criteria, e)) {
+        ++size;
+      }
+    }
+    return size;
+  }
+
+  @Override // CountingSelectable<C, E>
+  public final boolean isUnsatisfied(final C criteria) {
+    for (final E e : this.elements) {
+      if (this.p.test(criteria, e)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override // CountingSelectable<C, E>
+  public final boolean isAmbiguous(final C criteria) {
+    boolean found = false;
+    for (final E e : this.elements) {
+      if (this.p.test(criteria, e)) {
+        if (found) {
+          return true;
+        }
+        found = true;
+      }
+    }
+    return false;
+  }
+
+  @Override // CountingSelectable<C, E>
+  public final E unique(final C criteria) {
+    E unique = null;
+    boolean found = false;
+    for (final E e : this.elements) {
+      if (this.p.test(criteria, e)) {
+        if (found) {
+          // Error path; materialize the alternates.
+          throw new AmbiguousResolutionException(criteria, this.select(criteria), null);
+        }
+        unique = e;
+        found = true;
+      }
+    }
+    if (!found) {
+      throw new UnsatisfiedResolutionException(criteria, null, null);
+    }
+    return unique;
+  }
+
+}
@@ -22,7 +22,7 @@ import org.microbean.bean.Creation;
 import org.microbean.bean.ReferencesSelector;
 
 /**
- * A factory for {@link Supplier}s of contextual instances.
+ * A factory for contextual instances and {@link Supplier}s of them.
  *
  * <p>{@link Instances} instances are used by {@link Request} instances.</p>
  *
@@ -30,6 +30,8 @@ import org.microbean.bean.ReferencesSelector;
  *
  * @see #supplier(Bean, Creation)
  *
+ * @see #instance(Bean, Creation)
+ *
  * @see Request
  */
 public interface Instances {
@@ -47,6 +49,58 @@ public interface Instances {
    */
   public boolean proxiable(final Id id);
 
+  /**
+   * Returns {@code true} if and only if a client proxy that would otherwise be created for contextual instances
+   * described by the supplied {@link Id} may be <dfn>elided</dfn> in the current context, so that the contextual
+   * instance itself is used as the contextual reference.
+   *
+   * <p>This method is consulted by {@link Request#reference(Bean)} only when {@link #proxiable(Id)} returns {@code true}
+   * for the same {@link Id}, and is invoked on the thread acquiring the contextual reference. An implementation should
+   * return {@code true} only if that thread is currently inside the scope to which such contextual instances belong,
+   * and the contextual reference is known not to outlive that scope or to escape to another thread, as is the case, for
+   * example, for contextual references acquired to be used and discarded within a single scoped unit of work. When a
+   * client proxy is elided, no client proxy is created, and invocations on the contextual reference incur no
+   * indirection.</p>
+   *
+   * <p>The default implementation of this method returns {@code false}.</p>
+   *
+   * @param id an {@link Id}; must not be {@code null}
+   *
+   * @return {@code true} if and only if a client proxy for contextual instances described by the supplied {@link Id}
+   * may be elided in the current context; {@code false} otherwise
+   *
+   * @exception NullPointerException if {@code id} is {@code null}
+   *
+   * @see Request#reference(Bean)
+   */
+  public default boolean elidable(final Id id) {
+    return false;
+  }
+
+  /**
+   * Returns {@code true} if and only if contextual instances described by the supplied {@link Id} may be created at
+   * most once per root {@link Request}, and then shared by all of its descendants.
+   *
+   * <p>This method is consulted by {@link Request#reference(Bean)} only when {@link #proxiable(Id)} returns {@code
+   * false} for the same {@link Id}. A memoized contextual instance is destroyed when the root {@link Request} is
+   * {@linkplain Request#close() closed}, and not before. It is therefore normally appropriate to return {@code true}
+   * from this method only for {@link Id}s describing stateless helper objects.</p>
+   *
+   * <p>The default implementation of this method returns {@code false}.</p>
+   *
+   * @param id an {@link Id}; must not be {@code null}
+   *
+   * @return {@code true} if and only if contextual instances described by the supplied {@link Id} may be created at
+   * most once per root {@link Request}; {@code false} otherwise
+   *
+   * @exception NullPointerException if {@code id} is {@code null}
+   *
+   * @see Request#reference(Bean)
+   */
+  public default boolean memoizable(final Id id) {
+    return false;
+  }
+
   /**
    * Returns a {@link Supplier} of contextual instances appropriate for the given {@link Creation}.
    *
@@ -61,4 +115,28 @@ public interface Instances {
    */
   public <I> Supplier<? extends I> supplier(final Bean<I> bean, final Creation<I> creation);
 
+  /**
+   * Returns a contextual instance appropriate for the given {@link Creation}.
+   *
+   * <p>This method is used by {@link Request#reference(Bean)} when a client proxy will not be created. Overrides are
+   * encouraged to acquire the contextual instance directly, without creating an intermediate {@link Supplier}.</p>
+   *
+   * <p>The default implementation of this method calls the {@link #supplier(Bean, Creation)} method with the supplied
+   * arguments and returns the result of invoking {@link Supplier#get() get()} on its return value.</p>
+   *
+   * @param <I> the type of the contextual instance being requested
+   *
+   * @param bean the {@link Bean} whose {@link Bean#factory() Factory} will create any contextual instances; must not be
+   * {@code null}
+   *
+   * @param creation a {@link Creation}; may be {@code null}
+   *
+   * @return a contextual instance of the appropriate type, which may be {@code null}
+   *
+   * @see #supplier(Bean, Creation)
+   */
+  public default <I> I instance(final Bean<I> bean, final Creation<I> creation) {
+    return this.supplier(bean, creation).get();
+  }
+
 }
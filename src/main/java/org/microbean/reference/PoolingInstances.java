@@ -0,0 +1,293 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.reference;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.microbean.bean.Bean;
+import org.microbean.bean.Creation;
+import org.microbean.bean.Destruction;
+import org.microbean.bean.Id;
+
+import org.microbean.reference.DestructorRegistry.Destructor;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An {@link Instances} that recycles the contextual instances of certain non-{@linkplain #proxiable(Id) proxiable}
+ * {@link Bean}s through bounded, per-{@link Id} pools, instead of creating a new contextual instance each time one is
+ * requested and discarding it when it is destroyed.
+ *
+ * <p>A {@link Bean} opts in to pooling by having a {@link Resetter} associated with its {@link Id}. A contextual
+ * instance of such a {@link Bean} is taken from its pool if one is available, or is {@linkplain
+ * org.microbean.bean.Factory#create(Creation) created} by the {@link Bean}'s {@link Bean#factory() Factory} otherwise.
+ * Either way, it is {@linkplain DestructorRegistry#register(Object, Destructor) registered} with the {@link Creation}
+ * for which it was acquired, which must therefore be a {@link DestructorRegistry}, as every {@link Request} is. When it
+ * is destroyed, it is {@linkplain Resetter#reset(Object) reset} and returned to its pool; if it cannot be reset, or if
+ * its pool is full, it is {@linkplain org.microbean.bean.Factory#destroy(Object, Destruction) destroyed} by the {@link
+ * Bean}'s {@link Bean#factory() Factory} instead. All other contextual instances are acquired from a delegate {@link
+ * Instances}.</p>
+ *
+ * <p>A recycled contextual instance outlives the {@link Request} for which it was created, but the dependent objects
+ * acquired during its creation do not: they are destroyed when that {@link Request} is destroyed. Pooling is therefore
+ * suitable only for {@link Bean}s whose contextual instances hold no references to dependent objects, such as parsers
+ * and codec contexts that are expensive to construct but cheap to reset.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
+ *
+ * @see Resetter
+ */
+public final class PoolingInstances implements Instances {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  // Indicates, in the pools map, that an Id has no Resetter and is therefore not pooled.
+  private static final Pool NONE = new Pool(null, 1);
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  private final Instances delegate;
+
+  private final Function<? super Id, ? extends Resetter> resetters;
+
+  private final int capacity;
+
+  private final ConcurrentMap<Id, Pool> pools;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link PoolingInstances}.
+   *
+   * @param delegate the {@link Instances} from which contextual instances that are not pooled will be acquired; must
+   * not be {@code null}
+   *
+   * @param resetters a {@link Function} that returns the {@link Resetter} for a given {@link Id}, or {@code null} if
+   * contextual instances described by the {@link Id} must not be pooled; must not be {@code null}; invoked at most once
+   * per {@link Id}; must not itself use this {@link PoolingInstances}
+   *
+   * @param capacity the maximum number of idle contextual instances each pool may hold; must be greater than {@code 0}
+   *
+   * @exception NullPointerException if {@code delegate} or {@code resetters} is {@code null}
+   *
+   * @exception IllegalArgumentException if {@code capacity} is less than {@code 1}
+   */
+  public PoolingInstances(final Instances delegate,
+                          final Function<? super Id, ? extends Resetter> resetters,
+                          final int capacity) {
+    super();
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity: " + capacity);
+    }
+    this.delegate = requireNonNull(delegate, "delegate");
+    this.resetters = requireNonNull(resetters, "resetters");
+    this.capacity = capacity;
+    this.pools = new ConcurrentHashMap<>();
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  @Override // Instances
+  public final boolean proxiable(final Id id) {
+    return this.delegate.proxiable(id);
+  }
+
+  @Override // Instances
+  public final boolean elidable(final Id id) {
+    return this.delegate.elidable(id);
+  }
+
+  @Override // Instances
+  public final boolean memoizable(final Id id) {
+    return this.delegate.memoizable(id);
+  }
+
+  @Override // Instances
+  public final <I> Supplier<? extends I> supplier(final Bean<I> bean, final Creation<I> creation) {
+    final Pool pool = this.pool(bean, creation);
+    return pool == null ? this.delegate.supplier(bean, creation) : () -> acquire(bean, creation, pool);
+  }
+
+  @Override // Instances
+  public final <I> I instance(final Bean<I> bean, final Creation<I> creation) {
+    final Pool pool = this.pool(bean, creation);
+    return pool == null ? this.delegate.instance(bean, creation) : acquire(bean, creation, pool);
+  }
+
+  // Returns the Pool for the supplied Bean's contextual instances, or null if they are not pooled.
+  private final Pool pool(final Bean<?> bean, final Creation<?> creation) {
+    if (!(creation instanceof DestructorRegistry)) {
+      return null;
+    }
+    final Id id = bean.id();
+    if (this.delegate.proxiable(id)) {
+      return null;
+    }
+    Pool pool = this.pools.get(id); // lock-free in the common case
+    if (pool == null) {
+      pool = this.pools.computeIfAbsent(id, this::newPool); // invokes the resetters Function at most once per Id
+    }
+    return pool == NONE ? null : pool;
+  }
+
+  private final Pool newPool(final Id id) {
+    final Resetter r = this.resetters.apply(id);
+    return r == null ? NONE : new Pool(r, this.capacity);
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  @SuppressWarnings("unchecked")
+  private static final <I> I acquire(final Bean<I> bean, final Creation<I> creation, final Pool pool) {
+    I instance = (I)pool.idle.poll();
+    if (instance == null) {
+      instance = bean.factory().create(creation);
+      if (instance == null) {
+        return null;
+      }
+    }
+    final Release<I> release = new Release<>(bean, instance, creation instanceof Destruction d ? d : null, pool);
+    if (!((DestructorRegistry)creation).register(instance, release)) {
+      // Nothing will ever release it; don't pool it.
+      release.claim();
+    }
+    return instance;
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  /**
+   * A hook that prepares a contextual instance for reuse.
+   *
+   * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
+   *
+   * @see PoolingInstances#PoolingInstances(Instances, Function, int)
+   */
+  @FunctionalInterface
+  public static interface Resetter {
+
+    /**
+     * Resets the supplied contextual instance to a state in which it is indistinguishable from a newly created one, and
+     * returns {@code true}, or returns {@code false} if that is not possible, in which case the contextual instance will
+     * be destroyed.
+     *
+     * <p>Implementations of this method must be safe for concurrent use by multiple threads.</p>
+     *
+     * @param instance a contextual instance that is no longer in use; never {@code null}
+     *
+     * @return {@code true} if and only if the supplied contextual instance was reset and may be reused
+     */
+    public boolean reset(final Object instance);
+
+  }
+
+  private static final class Pool {
+
+    private final Resetter resetter;
+
+    private final BlockingQueue<Object> idle;
+
+    private Pool(final Resetter resetter, final int capacity) {
+      super();
+      this.resetter = resetter;
+      this.idle = new ArrayBlockingQueue<>(capacity);
+    }
+
+  }
+
+  private static final class Release<I> implements Destructor {
+
+    private static final VarHandle RELEASED;
+
+    static {
+      try {
+        RELEASED = MethodHandles.lookup().findVarHandle(Release.class, "released", boolean.class);
+      } catch (final NoSuchFieldException | IllegalAccessException e) {
+        throw (ExceptionInInitializerError)new ExceptionInInitializerError(e.getMessage()).initCause(e);
+      }
+    }
+
+    private final Bean<I> bean;
+
+    private final I instance;
+
+    private final Destruction destruction; // nullable
+
+    private final Pool pool;
+
+    private volatile boolean released;
+
+    private Release(final Bean<I> bean, final I instance, final Destruction destruction, final Pool pool) {
+      super();
+      this.bean = bean;
+      this.instance = instance;
+      this.destruction = destruction;
+      this.pool = pool;
+    }
+
+    @Override // Destructor
+    public final void destroy() {
+      if (!this.claim()) {
+        return;
+      }
+      boolean pooled = false;
+      try {
+        pooled = this.pool.resetter.reset(this.instance) && this.pool.idle.offer(this.instance);
+      } finally {
+        if (!pooled) {
+          this.bean.factory().destroy(this.instance, this.destruction);
+        }
+      }
+    }
+
+    private final boolean claim() {
+      return RELEASED.compareAndSet(this, false, true);
+    }
+
+  }
+
+}
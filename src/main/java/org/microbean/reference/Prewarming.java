@@ -0,0 +1,99 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.reference;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.lang.model.AnnotatedConstruct;
+
+import org.microbean.assign.Annotated;
+
+import org.microbean.bean.References;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A utility class for <dfn>prewarming</dfn> a dependency injection system before it takes traffic, so that selection
+ * caches are populated, client proxy classes are generated, and the {@link Request#reference(org.microbean.bean.Bean)}
+ * path has been exercised enough to be compiled.
+ *
+ * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
+ *
+ * @see #prewarm(Request, Collection, int)
+ */
+public final class Prewarming {
+
+  private Prewarming() {
+    super();
+  }
+
+  /**
+   * Prewarms the supplied {@link Request} for the supplied injection points, and then {@linkplain Request#close()
+   * closes} it, destroying everything that prewarming created.
+   *
+   * <p>For each injection point, the {@link Request}'s contextual references are acquired, once, and then again {@code
+   * iterations} more times, and each is {@linkplain Iterator#remove() released} as soon as it has been acquired, so
+   * that prewarming holds on to at most one at a time. Each acquisition performs selection, so any caching performed
+   * by the {@link Request}'s selection machinery is populated by the first. Acquiring a contextual
+   * reference for a {@linkplain Instances#proxiable(org.microbean.bean.Id) proxiable} {@link org.microbean.bean.Bean}
+   * creates a client proxy, and therefore any necessary client proxy class, but does not create a contextual instance;
+   * acquiring one for any other {@link org.microbean.bean.Bean} creates a contextual instance.</p>
+   *
+   * <p>{@linkplain Instances#memoizable(org.microbean.bean.Id) Memoized} contextual instances cannot be released
+   * individually, and are destroyed only when the supplied {@link Request} is closed, so the supplied {@link Request}
+   * should be a root {@link Request} dedicated to prewarming.</p>
+   *
+   * @param request a {@link Request} dedicated to prewarming; must not be {@code null}; will be {@linkplain
+   * Request#close() closed} when this method returns, whether normally or abruptly
+   *
+   * @param injectionPoints a {@link Collection} of {@link Annotated}s representing injection points; must not be
+   * {@code null}
+   *
+   * @param iterations the number of additional times the contextual references for each injection point should be
+   * acquired; must not be negative; {@code 0} is permitted
+   *
+   * @exception NullPointerException if {@code request} or {@code injectionPoints} is {@code null}
+   *
+   * @exception IllegalArgumentException if {@code iterations} is negative
+   */
+  public static final void prewarm(final Request<?, ?> request,
+                                   final Collection<? extends Annotated<? extends AnnotatedConstruct>> injectionPoints,
+                                   final int iterations) {
+    requireNonNull(request, "request");
+    requireNonNull(injectionPoints, "injectionPoints");
+    if (iterations < 0) {
+      throw new IllegalArgumentException("iterations: " + iterations);
+    }
+    try (request) {
+      final List<References<?>> rs = new ArrayList<>(injectionPoints.size());
+      for (final Annotated<? extends AnnotatedConstruct> injectionPoint : injectionPoints) {
+        rs.add(request.references(injectionPoint));
+      }
+      // Generate client proxy classes and exercise the selection and reference paths.
+      for (int i = 0; i <= iterations; i++) {
+        for (final References<?> r : rs) {
+          final Iterator<?> refs = r.iterator();
+          while (refs.hasNext()) {
+            refs.next();
+            refs.remove(); // release it right away
+          }
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,376 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.reference;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import java.util.function.Supplier;
+
+import org.microbean.bean.Bean;
+import org.microbean.bean.Creation;
+import org.microbean.bean.Id;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An {@link Instances} that records the <dfn>creation graph</dfn> of the contextual instances acquired through a
+ * delegate {@link Instances}: which {@link Bean}s cause which other {@link Bean}s' contextual instances to be acquired,
+ * how often, and at what cumulative cost.
+ *
+ * <p>An edge is recorded from the {@link Id} of the {@link Bean} whose contextual instance causes another {@link
+ * Bean}'s contextual instance to be acquired to the {@link Id} of that other {@link Bean}. The parent is determined by
+ * the {@link Creation} supplied to {@link #instance(Bean, Creation)} or {@link #supplier(Bean, Creation)}: if it is a
+ * {@link Request}, its {@linkplain Request#parentId() parent <code>Id</code>} is used, so edges are correct no matter
+ * which thread, or which client proxy, actually acquires the contextual instance. An edge whose {@linkplain
+ * Edge#parent() parent} is {@code null} represents an acquisition made outside of any other acquisition, such as one
+ * made directly by a root {@link Request}, or one made with a {@link Creation} that is not a {@link Request}. The
+ * recorded time of an edge includes the time taken to acquire its child's own dependencies. For a {@linkplain
+ * #proxiable(Id) proxiable} {@link Id}, only the first invocation of the {@link Supplier} returned by {@link
+ * #supplier(Bean, Creation)} that returns normally is recorded, since that is when acquisition takes place; later
+ * invocations, made each time the client proxy is used, are not, so counts reflect acquisitions, not uses.</p>
+ *
+ * <p>Recorded edges may be {@linkplain #write(Path) written} to a compact, line-oriented text file in which each line
+ * consists of four tab-separated fields: a count, a cumulative number of nanoseconds, and the {@linkplain
+ * Id#toString() string representations} of the parent and child {@link Id}s, with tabs, newlines and backslashes
+ * escaped, and a {@code null} parent represented by an empty field. Files written by many recorders may therefore be
+ * aggregated simply by summing the first two fields of lines whose last two fields are equal.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
+ *
+ * @see #edges()
+ *
+ * @see #write(Path)
+ */
+public final class RecordingInstances implements Instances {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  private static final VarHandle RECORDED;
+
+  static {
+    try {
+      RECORDED = MethodHandles.lookup().findVarHandle(RecordingSupplier.class, "recorded", boolean.class);
+    } catch (final NoSuchFieldException | IllegalAccessException e) {
+      throw (ExceptionInInitializerError)new ExceptionInInitializerError(e.getMessage()).initCause(e);
+    }
+  }
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  private final Instances delegate;
+
+  private final ConcurrentMap<Key, Tally> tallies;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link RecordingInstances}.
+   *
+   * @param delegate the {@link Instances} to which all operations will be delegated; must not be {@code null}
+   *
+   * @exception NullPointerException if {@code delegate} is {@code null}
+   */
+  public RecordingInstances(final Instances delegate) {
+    super();
+    this.delegate = requireNonNull(delegate, "delegate");
+    this.tallies = new ConcurrentHashMap<>();
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  @Override // Instances
+  public final boolean proxiable(final Id id) {
+    return this.delegate.proxiable(id);
+  }
+
+  @Override // Instances
+  public final boolean elidable(final Id id) {
+    return this.delegate.elidable(id);
+  }
+
+  @Override // Instances
+  public final boolean memoizable(final Id id) {
+    return this.delegate.memoizable(id);
+  }
+
+  @Override // Instances
+  public final <I> Supplier<? extends I> supplier(final Bean<I> bean, final Creation<I> creation) {
+    return new RecordingSupplier<>(this.delegate.supplier(bean, creation), parentId(creation), bean.id());
+  }
+
+  @Override // Instances
+  public final <I> I instance(final Bean<I> bean, final Creation<I> creation) {
+    final long start = System.nanoTime();
+    try {
+      return this.delegate.instance(bean, creation);
+    } finally {
+      this.record(parentId(creation), bean.id(), System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Returns a non-{@code null}, unmodifiable, point-in-time snapshot of the {@link Edge}s recorded so far.
+   *
+   * @return a non-{@code null}, unmodifiable {@link List} of {@link Edge}s
+   *
+   * @microbean.threadsafety This method is safe for concurrent use by multiple threads.
+   */
+  public final List<Edge> edges() {
+    final List<Edge> edges = new ArrayList<>(this.tallies.size());
+    for (final Entry<Key, Tally> e : this.tallies.entrySet()) {
+      final Key k = e.getKey();
+      final Tally t = e.getValue();
+      edges.add(new Edge(k.parent(), k.child(), t.count.sum(), t.nanos.sum()));
+    }
+    return List.copyOf(edges);
+  }
+
+  /**
+   * Discards all {@link Edge}s recorded so far.
+   *
+   * @microbean.threadsafety This method is safe for concurrent use by multiple threads.
+   */
+  public final void reset() {
+    this.tallies.clear();
+  }
+
+  /**
+   * Writes the {@link Edge}s recorded so far to the file identified by the supplied {@link Path}, creating it, or
+   * replacing its contents if it already exists, in the format described in {@linkplain RecordingInstances the class
+   * documentation}.
+   *
+   * @param path a {@link Path}; must not be {@code null}
+   *
+   * @exception NullPointerException if {@code path} is {@code null}
+   *
+   * @exception UncheckedIOException if an input or output error occurs
+   *
+   * @see #write(Writer)
+   */
+  public final void write(final Path path) {
+    try (final BufferedWriter w = Files.newBufferedWriter(path, UTF_8)) {
+      this.write(w);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Writes the {@link Edge}s recorded so far to the supplied {@link Writer}, which is not closed, in the format
+   * described in {@linkplain RecordingInstances the class documentation}.
+   *
+   * @param w a {@link Writer}; must not be {@code null}
+   *
+   * @exception NullPointerException if {@code w} is {@code null}
+   *
+   * @exception UncheckedIOException if an input or output error occurs
+   *
+   * @see #write(Path)
+   */
+  public final void write(final Writer w) {
+    requireNonNull(w, "w");
+    final StringBuilder sb = new StringBuilder();
+    try {
+      for (final Edge edge : this.edges()) {
+        sb.setLength(0);
+        sb.append(edge.count()).append('\t').append(edge.nanos()).append('\t');
+        if (edge.parent() != null) {
+          escape(edge.parent().toString(), sb);
+        }
+        sb.append('\t');
+        escape(edge.child().toString(), sb);
+        sb.append('\n');
+        w.append(sb);
+      }
+      w.flush();
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e.getMessage(), e);
+    }
+  }
+
+  private final void record(final Id parent, final Id child, final long nanos) {
+    final Key k = new Key(parent, child);
+    Tally t = this.tallies.get(k);
+    if (t == null) {
+      final Tally newTally = new Tally();
+      t = this.tallies.putIfAbsent(k, newTally);
+      if (t == null) {
+        t = newTally;
+      }
+    }
+    t.count.increment();
+    t.nanos.add(nanos);
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  private static final Id parentId(final Creation<?> creation) {
+    return creation instanceof Request<?, ?> r ? r.parentId() : null;
+  }
+
+  private static final void escape(final String s, final StringBuilder sb) {
+    for (int i = 0; i < s.length(); i++) {
+      final char c = s.charAt(i);
+      switch (c) {
+      case '\\' -> sb.append("\\\\");
+      case '\t' -> sb.append("\\t");
+      case '\n' -> sb.append("\\n");
+      case '\r' -> sb.append("\\r");
+      default -> sb.append(c);
+      }
+    }
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  /**
+   * A recorded edge in a creation graph.
+   *
+   * @param parent the {@link Id} of the {@link Bean} whose contextual instance caused the child's to be acquired;
+   * may be {@code null}
+   *
+   * @param child the {@link Id} of the {@link Bean} whose contextual instance was acquired; must not be {@code null}
+   *
+   * @param count the number of times this edge was traversed; must not be negative
+   *
+   * @param nanos the cumulative number of nanoseconds spent acquiring the child's contextual instances along this edge,
+   * including the acquisition of their own dependencies; must not be negative
+   *
+   * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
+   *
+   * @see RecordingInstances#edges()
+   */
+  public static final record Edge(Id parent, Id child, long count, long nanos) {
+
+    /**
+     * Creates a new {@link Edge}.
+     *
+     * @param parent the {@link Id} of the {@link Bean} whose contextual instance caused the child's to be
+     * acquired; may be {@code null}
+     *
+     * @param child the {@link Id} of the {@link Bean} whose contextual instance was acquired; must not be {@code null}
+     *
+     * @param count the number of times this edge was traversed; must not be negative
+     *
+     * @param nanos the cumulative number of nanoseconds spent acquiring the child's contextual instances along this
+     * edge; must not be negative
+     *
+     * @exception NullPointerException if {@code child} is {@code null}
+     *
+     * @exception IllegalArgumentException if {@code count} or {@code nanos} is negative
+     */
+    public Edge {
+      requireNonNull(child, "child");
+      if (count < 0L || nanos < 0L) {
+        throw new IllegalArgumentException();
+      }
+    }
+
+  }
+
+  private static final record Key(Id parent, Id child) {}
+
+  // Records the first invocation of a Supplier that returns normally, and delegates all others without recording.
+  private final class RecordingSupplier<I> implements Supplier<I> {
+
+    private final Supplier<? extends I> supplier;
+
+    private final Id parent;
+
+    private final Id id;
+
+    private volatile boolean recorded;
+
+    private RecordingSupplier(final Supplier<? extends I> supplier, final Id parent, final Id id) {
+      super();
+      this.supplier = supplier;
+      this.parent = parent;
+      this.id = id;
+    }
+
+    @Override // Supplier<I>
+    public final I get() {
+      if (this.recorded) { // volatile read
+        return this.supplier.get();
+      }
+      final long start = System.nanoTime();
+      final I instance = this.supplier.get();
+      final long nanos = System.nanoTime() - start;
+      if (RECORDED.compareAndSet(this, false, true)) {
+        record(this.parent, this.id, nanos);
+      }
+      return instance;
+    }
+
+  }
+
+  private static final class Tally {
+
+    private final LongAdder count;
+
+    private final LongAdder nanos;
+
+    private Tally() {
+      super();
+      this.count = new LongAdder();
+      this.nanos = new LongAdder();
+    }
+
+  }
+
+}
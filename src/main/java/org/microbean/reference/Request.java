@@ -13,7 +13,27 @@
  */
 package org.microbean.reference;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import java.util.function.Supplier;
 
@@ -24,6 +44,7 @@ import javax.lang.model.type.TypeMirror;
 import org.microbean.assign.Annotated;
 import org.microbean.assign.Selectable;
 
+import org.microbean.bean.AmbiguousResolutionException;
 import org.microbean.bean.Bean;
 import org.microbean.bean.BeanException;
 import org.microbean.bean.Creation;
@@ -31,6 +52,7 @@ import org.microbean.bean.Destruction;
 import org.microbean.bean.Id;
 import org.microbean.bean.References;
 import org.microbean.bean.ReferencesSelector;
+import org.microbean.bean.UnsatisfiedResolutionException;
 
 import org.microbean.construct.Domain;
 
@@ -67,6 +89,29 @@ import static java.util.Objects.requireNonNull;
 public final class Request<I, R> implements Creation<I>, Destruction, DestructorRegistry, References<R> {
 
 
+  /*
+   * Static fields.
+   */
+
+
+  private static final VarHandle VIEWS;
+
+  private static final VarHandle MEMOS;
+
+  // Indicates, by identity, that a root Request has been closed and will memoize nothing further; never modified.
+  private static final ConcurrentMap<Id, Memo<?>> CLOSED_MEMOS = new ConcurrentHashMap<>(1);
+
+  static {
+    final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    try {
+      VIEWS = lookup.findVarHandle(Request.class, "views", Views.class);
+      MEMOS = lookup.findVarHandle(Request.class, "memos", ConcurrentMap.class);
+    } catch (final NoSuchFieldException | IllegalAccessException e) {
+      throw (ExceptionInInitializerError)new ExceptionInInitializerError(e.getMessage()).initCause(e);
+    }
+  }
+
+
   /*
    * Instance fields.
    */
@@ -84,8 +129,21 @@ public final class Request<I, R> implements Creation<I>, Destruction, Destructor
 
   private final Bean<I> b; // nullable; B and R must then be (effectively) Void
 
+  private final Id parentId; // nullable; the Id of the Request that created this one, if any
+
   private final Annotated<? extends AnnotatedConstruct> rConstruct; // nullable; R must then be Void
 
+  // Shared by this Request and all Requests derived from it by references(Annotated); see #references(Annotated).
+  // Lazily initialized; most Requests (e.g. those created by newChild(Bean)) never need one.
+  private volatile Views views;
+
+  // The Request created by a public constructor from which this Request ultimately descends; possibly this Request
+  private final Request<?, ?> root;
+
+  // Memoized contextual instances, by Id; see #reference(Bean). Used only in a root Request. Lazily initialized.
+  // Set to CLOSED_MEMOS when the root's DestructorTree is closed.
+  private volatile ConcurrentMap<Id, Memo<?>> memos;
+
 
   /*
    * Constructors.
@@ -114,7 +172,8 @@ public final class Request<I, R> implements Creation<I>, Destruction, Destructor
                  final Selectable<? super Annotated<? extends AnnotatedConstruct>, Bean<?>> s,
                  final Instances instances,
                  final ClientProxier cp) {
-    this(d, s, instances, null, cp, null, null);
+    this(d, s, instances, null, cp, null, null, null, null, null);
+    DestructorTreeTracker.opened(this.destructorTree);
   }
 
   /**
@@ -141,7 +200,8 @@ public final class Request<I, R> implements Creation<I>, Destruction, Destructor
                  final Instances instances,
                  final DestructorTree destructorTree, // nullable
                  final ClientProxier cp) {
-    this(d, s, instances, destructorTree, cp, null, null);
+    this(d, s, instances, destructorTree, cp, null, null, null, null, null);
+    DestructorTreeTracker.opened(this.destructorTree);
   }
 
   private Request(final Domain d,
@@ -150,14 +210,20 @@ public final class Request<I, R> implements Creation<I>, Destruction, Destructor
                   final DestructorTree destructorTree, // nullable
                   final ClientProxier cp,
                   final Bean<I> b, // nullable
-                  final Annotated<? extends AnnotatedConstruct> rConstruct) { // the type of the references returned (<R>); nullable
+                  final Id parentId, // nullable
+                  final Annotated<? extends AnnotatedConstruct> rConstruct, // the type of the references returned (<R>); nullable
+                  final Views views, // nullable
+                  final Request<?, ?> root) { // nullable
     this.domain = requireNonNull(d, "d");
     this.beans = requireNonNull(s, "s");
     this.instances = requireNonNull(instances, "instances");
     this.cp = requireNonNull(cp, "cp");
     this.destructorTree = destructorTree == null ? new DefaultDestructorTree() : destructorTree;
     this.b = b;
+    this.parentId = parentId;
     this.rConstruct = rConstruct;
+    this.views = views;
+    this.root = root == null ? this : root;
   }
 
 
@@ -168,12 +234,40 @@ public final class Request<I, R> implements Creation<I>, Destruction, Destructor
 
   @Override // Destruction
   public final void close() {
+    if (this.destructorTree == this.root.destructorTree) {
+      // Closing the root's DestructorTree destroys all memoized contextual instances; make sure they can no longer be
+      // returned, and that no new ones are created.
+      MEMOS.setVolatile(this.root, CLOSED_MEMOS);
+    }
     this.destructorTree.close();
   }
 
+  /**
+   * Destroys the supplied contextual reference if it was registered with this {@link Request}, and returns {@code true}
+   * if and only if it was.
+   *
+   * <p>Client proxies returned by the {@link #reference(Bean)} method are registered under their own identity, so a
+   * client proxy is destroyed, by destroying the contextual instances created on its behalf, without {@linkplain
+   * Proxy#$proxied() resolving} it. A {@link Proxy} that was not registered with this {@link Request} is therefore not
+   * resolved either, and this method returns {@code false} for it.</p>
+   *
+   * <p>To register a client proxy under its own identity, its child {@link DestructorTree} is {@linkplain
+   * DestructorTree#remove(Object) removed} from this {@link Request}'s {@link DestructorTree} and re-registered under
+   * the client proxy. This relies on the {@link DestructorTree} supplied at construction time registering each
+   * {@linkplain DestructorTree#newChild() child} under the child itself, as required. If a caller-supplied {@link
+   * DestructorTree} does not, its client proxies are not registered under their own identity, this method returns
+   * {@code false} for them, and they are destroyed only when this {@link Request} is {@linkplain #close() closed}.</p>
+   *
+   * @param r a contextual reference; may be {@code null} in which case {@code false} will be returned
+   *
+   * @return {@code true} if and only if the supplied contextual reference was registered with this {@link Request} and
+   * has been destroyed
+   *
+   * @microbean.threadsafety This method is safe for concurrent use by multiple threads.
+   */
   @Override // ReferencesSelector
   public final boolean destroy(final Object r) {
-    final Destructor destructor = this.destructorTree.remove(r instanceof Proxy<?> p ? p.$proxied() : r);
+    final Destructor destructor = this.destructorTree.remove(r); // never resolves client proxies
     if (destructor != null) {
       destructor.destroy(); // I keep going back and forth on whether this should be under some kind of lock, or whether the Destructor contract covers it
       return true;
@@ -196,25 +290,233 @@ public final class Request<I, R> implements Creation<I>, Destruction, Destructor
     return new ReferencesIterator(); // inner class; see below
   }
 
+  /**
+   * Returns the {@link Id} of the {@link Bean} on whose behalf the {@link Request} that created this {@link Request}
+   * was created, or {@code null} if there is no such {@link Id}.
+   *
+   * <p>When this {@link Request} is the {@link Creation} supplied to an {@link Instances}, the return value identifies
+   * the {@link Bean} whose contextual instance caused the acquisition of this {@link Request}'s {@linkplain #id()
+   * own}. For a memoized contextual instance (see {@link #reference(Bean)}), it is that of the root {@link Request},
+   * which is usually {@code null}. Unlike the current thread, it is reliable regardless of where acquisition actually
+   * takes place, such as in a client proxy or on a virtual thread.</p>
+   *
+   * @return the {@link Id} of the {@link Bean} on whose behalf the {@link Request} that created this {@link Request}
+   * was created, or {@code null}
+   *
+   * @microbean.threadsafety This method is safe for concurrent use by multiple threads.
+   *
+   * @microbean.idempotency This method is idempotent and deterministic.
+   *
+   * @see #id()
+   */
+  public final Id parentId() {
+    return this.parentId;
+  }
+
+  /**
+   * Returns a contextual reference for the supplied {@link Bean}.
+   *
+   * <p>If the {@link Instances} supplied at construction time deems the {@link Bean}'s {@link Id} {@linkplain
+   * Instances#proxiable(Id) proxiable}, a client proxy is returned, and is registered such that {@linkplain
+   * #destroy(Object) destroying} it destroys whatever was created on its behalf, unless it also deems the {@link Id}
+   * {@linkplain Instances#elidable(Id) elidable} in the current context, in which case the contextual instance that
+   * the client proxy would have supplied is returned instead. Otherwise, if it deems the {@link Id} {@linkplain
+   * Instances#memoizable(Id) memoizable}, a contextual instance is created at most once for this {@link Request}'s root
+   * {@link Request} and all of its descendants, and is destroyed when that root {@link Request} is {@linkplain #close()
+   * closed}, after which no memoized contextual instance will be returned. If creation of a memoized contextual
+   * instance fails, a later invocation of this method will try again. Otherwise a new contextual instance is
+   * returned.</p>
+   *
+   * @param <R> the contextual reference type
+   *
+   * @param bean a {@link Bean}; must not be {@code null}
+   *
+   * @return a contextual reference, which may be {@code null}
+   *
+   * @exception NullPointerException if {@code bean} is {@code null}
+   *
+   * @exception IllegalStateException if the {@link Bean}'s {@link Id} is memoizable and this {@link Request}'s root
+   * {@link Request} has been {@linkplain #close() closed}
+   *
+   * @exception ReferenceException if the {@link Bean}'s {@link Id} is memoizable and the creation of its contextual
+   * instance requires, on the same thread, that same contextual instance
+   *
+   * @see Instances#proxiable(Id)
+   *
+   * @see Instances#elidable(Id)
+   *
+   * @see Instances#memoizable(Id)
+   */
   @Override // ReferencesSelector
   public final <R> R reference(final Bean<R> bean) {
-    final Supplier<? extends R> supplier = this.instances.supplier(bean, this.newChild(bean)); // newChild is critical
+    return this.reference(bean, null);
+  }
+
+  // If ri is non-null, any child Request's DestructorTree created on the supplied Bean's behalf is stored in ri.tree, so
+  // that ri.remove() can destroy whatever was created even if the returned contextual reference was not registered under
+  // its own identity.
+  private final <R> R reference(final Bean<R> bean, final ReferencesIterator ri) {
     final Id id = bean.id();
-    return this.instances.proxiable(id) ? this.cp.clientProxy(id, supplier) : supplier.get();
+    if (this.instances.proxiable(id)) {
+      if (this.instances.elidable(id)) {
+        return this.instances.instance(bean, this.newChild(bean, ri)); // newChild is critical
+      }
+      final Request<R, ?> child = this.newChild(bean, ri); // newChild is critical
+      final R proxy = this.cp.clientProxy(id, this.instances.supplier(bean, child));
+      if (proxy != null && child != this) {
+        // Re-register the child's DestructorTree under the client proxy's identity so that destroy(Object) can find it
+        // without resolving the client proxy.
+        final Destructor d = this.destructorTree.remove(child.destructorTree);
+        if (d != null
+            && !this.destructorTree.register(proxy, d)
+            && !this.destructorTree.register(child.destructorTree, d)) {
+          // This Request's DestructorTree was closed after d was removed from it, so d must be run here.
+          d.destroy();
+        }
+      }
+      return proxy;
+    } else if (this.instances.memoizable(id)) {
+      return this.root.memoized(bean);
+    }
+    return this.instances.instance(bean, this.newChild(bean, ri)); // newChild is critical; no intermediate Supplier needed
   }
 
+  /**
+   * Returns an unmodifiable {@link List} of contextual references for the supplied {@link Bean}s, in the same order,
+   * creating contextual instances for them concurrently where possible, and returning only when all have been created.
+   *
+   * <p>This method is intended for use by a {@link org.microbean.bean.Factory} that must acquire several independent,
+   * slow-to-create dependencies before it can construct its contextual instance.</p>
+   *
+   * <p>The contextual reference for each {@link Bean} is acquired exactly as by the {@link #reference(Bean)} method,
+   * so each newly created contextual instance has its own child {@link DestructorTree}. Contextual references for
+   * {@link Bean}s whose {@link Id}s are {@linkplain Instances#proxiable(Id) proxiable} or {@linkplain
+   * Instances#memoizable(Id) memoizable} are acquired on the calling thread. If more than one contextual reference
+   * remains to be acquired, each is acquired on its own new virtual thread; otherwise it is acquired on the calling
+   * thread.</p>
+   *
+   * <p>A virtual thread created by this method does not inherit the calling thread's {@link ThreadLocal} values or other
+   * thread-bound context, such as the scopes active on the calling thread. A {@link org.microbean.bean.Factory} whose
+   * contextual instance may be acquired in this way must therefore not depend on such context, and any {@link
+   * Instances} that does must deem the relevant {@link Id}s proxiable or memoizable.</p>
+   *
+   * <p>If acquisition of any contextual reference fails, this method waits for all others to complete and then throws
+   * the first failure, with any others {@linkplain Throwable#getSuppressed() suppressed}. Contextual instances that were
+   * successfully created remain registered with this {@link Request}.</p>
+   *
+   * @param beans a {@link List} of {@link Bean}s; must not be {@code null}
+   *
+   * @return a non-{@code null}, unmodifiable {@link List} of contextual references, any of which may be {@code null}
+   *
+   * @exception NullPointerException if {@code beans} is {@code null} or contains a {@code null} element
+   *
+   * @exception ReferenceException if a contextual reference could not be acquired because of a checked exception, or
+   * if the calling thread was interrupted, in which case its interrupted status will be set
+   *
+   * @see #reference(Bean)
+   */
+  public final List<?> referencesConcurrently(final List<? extends Bean<?>> beans) {
+    final int size = beans.size();
+    final Object[] references = new Object[size];
+    final boolean[] deferred = new boolean[size];
+    int deferrals = 0;
+    for (int i = 0; i < size; i++) {
+      final Bean<?> b = beans.get(i);
+      final Id id = b.id();
+      if (this.instances.proxiable(id) || this.instances.memoizable(id)) {
+        references[i] = this.reference(b);
+      } else {
+        deferred[i] = true;
+        ++deferrals;
+      }
+    }
+    if (deferrals == 1) {
+      for (int i = 0; i < size; i++) {
+        if (deferred[i]) {
+          references[i] = this.reference(beans.get(i));
+          break;
+        }
+      }
+    } else if (deferrals > 1) {
+      final List<Future<?>> futures = new ArrayList<>(deferrals);
+      try (final ExecutorService e = Executors.newVirtualThreadPerTaskExecutor()) {
+        for (int i = 0; i < size; i++) {
+          if (deferred[i]) {
+            final int index = i;
+            final Bean<?> b = beans.get(i);
+            futures.add(e.submit(() -> references[index] = this.reference(b)));
+          }
+        }
+      } // e.close() waits for all tasks to complete; if interrupted, it cancels them and re-interrupts
+      if (Thread.currentThread().isInterrupted()) {
+        throw new ReferenceException("interrupted");
+      }
+      Throwable t = null;
+      for (final Future<?> f : futures) {
+        if (f.state() == Future.State.FAILED) {
+          if (t == null) {
+            t = f.exceptionNow();
+          } else {
+            t.addSuppressed(f.exceptionNow());
+          }
+        }
+      }
+      if (t instanceof RuntimeException re) {
+        throw re;
+      } else if (t instanceof Error error) {
+        throw error;
+      } else if (t != null) {
+        throw new ReferenceException(t.getMessage(), t);
+      }
+    }
+    return Collections.unmodifiableList(Arrays.asList(references));
+  }
+
+  /**
+   * Returns a {@link References} that is this {@link Request} but with the supplied {@link Annotated} describing the
+   * contextual references it will return.
+   *
+   * <p>The returned {@link References} shares this {@link Request}'s {@link DestructorTree}. {@link Request}s returned
+   * by this method are cached by the identity of the supplied {@link Annotated}, so repeated invocations with the same
+   * {@link Annotated} on this {@link Request}, or on any {@link Request} returned by this method, will normally return
+   * the same {@link Request} without allocating.</p>
+   *
+   * @param <X> the contextual reference type
+   *
+   * @param rConstruct an {@link Annotated}; may be {@code null}
+   *
+   * @return a non-{@code null} {@link References}
+   *
+   * @microbean.threadsafety This method is safe for concurrent use by multiple threads.
+   */
   @Override // ReferencesSelector
   @SuppressWarnings("unchecked")
-  public final <X> References<X> references(final Annotated<? extends AnnotatedConstruct> rConstruct) {    
-    return this.rConstruct == rConstruct ? (References<X>)this :
-      // This basically returns "this" but with a new rConstruct. But Request is immutable so we make a copy.
-      new Request<>(this.domain,
-                     this.beans,
-                     this.instances,
-                     this.destructorTree, // deliberately NO this.destructorTree.newChild() call
-                     this.cp,
-                     this.b, // nullable; <I> will then be (effectively) Void
-                     rConstruct); // nullable; <X> will then be Void
+  public final <X> References<X> references(final Annotated<? extends AnnotatedConstruct> rConstruct) {
+    if (this.rConstruct == rConstruct) {
+      return (References<X>)this;
+    }
+    Views views = this.views; // volatile read
+    if (views == null) {
+      views = new Views(this.rConstruct, this);
+      if (!VIEWS.compareAndSet(this, null, views)) {
+        views = this.views; // volatile read
+      }
+    }
+    final Request<?, ?> r = views.get(rConstruct);
+    return (References<X>)(r != null ? r :
+                            // This basically returns "this" but with a new rConstruct. But Request is immutable so we
+                            // make a copy, and cache it in views, which all such copies share.
+                            views.putIfAbsent(rConstruct,
+                                                   new Request<>(this.domain,
+                                                                 this.beans,
+                                                                 this.instances,
+                                                                 this.destructorTree, // deliberately NO this.destructorTree.newChild() call
+                                                                 this.cp,
+                                                                 this.b, // nullable; <I> will then be (effectively) Void
+                                                                 this.parentId,
+                                                                 rConstruct, // nullable; <X> will then be Void
+                                                                 views,
+                                                                 this.root)));
   }
 
   @Override // DestructorTree (DestructorRegistry)
@@ -222,19 +524,174 @@ public final class Request<I, R> implements Creation<I>, Destruction, Destructor
     return this.destructorTree.register(reference, destructor);
   }
 
+  @Override // DestructorTree (DestructorRegistry)
+  public final int registerAll(final Map<?, ? extends Destructor> registrations) {
+    return this.destructorTree.registerAll(registrations);
+  }
+
+  /**
+   * Returns the sole contextual reference this {@link Request} represents.
+   *
+   * <p>Unlike the default implementation of {@link References#get()}, this implementation determines that there is
+   * exactly one applicable {@link Bean} before acquiring a contextual reference, and does so without materializing the
+   * full selection if this {@link Request}'s {@link Selectable} is a {@link CountingSelectable}.</p>
+   *
+   * @return the sole contextual reference this {@link Request} represents; may be {@code null}
+   *
+   * @exception UnsatisfiedResolutionException if there is no applicable {@link Bean}
+   *
+   * @exception AmbiguousResolutionException if there is more than one applicable {@link Bean}
+   *
+   * @see CountingSelectable#unique(Object)
+   */
+  @Override // References<R>
+  @SuppressWarnings("unchecked")
+  public final R get() {
+    final Bean<?> bean;
+    if (this.rConstruct == null) {
+      throw new UnsatisfiedResolutionException(null, null, null);
+    } else if (this.beans instanceof CountingSelectable) {
+      bean = this.counting().unique(this.rConstruct);
+    } else {
+      final List<Bean<?>> list = this.beans.select(this.rConstruct);
+      bean = switch (list.size()) {
+      case 0 -> throw new UnsatisfiedResolutionException(this.rConstruct, null, null);
+      case 1 -> list.get(0);
+      default -> throw new AmbiguousResolutionException(this.rConstruct, list, null);
+      };
+    }
+    return this.reference((Bean<R>)bean);
+  }
+
+  /**
+   * Returns {@code true} if and only if this {@link Request} represents no contextual references.
+   *
+   * <p>If this {@link Request}'s {@link Selectable} is a {@link CountingSelectable}, the full selection is not
+   * materialized.</p>
+   *
+   * @return {@code true} if and only if this {@link Request} represents no contextual references
+   *
+   * @see CountingSelectable#isUnsatisfied(Object)
+   */
+  public final boolean isUnsatisfied() {
+    if (this.rConstruct == null) {
+      return true;
+    }
+    return
+      this.beans instanceof CountingSelectable ?
+      this.counting().isUnsatisfied(this.rConstruct) :
+      this.beans.select(this.rConstruct).isEmpty();
+  }
+
+  /**
+   * Returns {@code true} if and only if this {@link Request} represents more than one contextual reference.
+   *
+   * <p>If this {@link Request}'s {@link Selectable} is a {@link CountingSelectable}, the full selection is not
+   * materialized.</p>
+   *
+   * @return {@code true} if and only if this {@link Request} represents more than one contextual reference
+   *
+   * @see CountingSelectable#isAmbiguous(Object)
+   */
+  public final boolean isAmbiguous() {
+    if (this.rConstruct == null) {
+      return false;
+    }
+    return
+      this.beans instanceof CountingSelectable ?
+      this.counting().isAmbiguous(this.rConstruct) :
+      this.beans.select(this.rConstruct).size() > 1;
+  }
+
   @Override // References<R>
   public final int size() {
-    return this.rConstruct == null ? 0 : this.beans.select(this.rConstruct).size();
+    if (this.rConstruct == null) {
+      return 0;
+    }
+    return
+      this.beans instanceof CountingSelectable ?
+      this.counting().size(this.rConstruct) :
+      this.beans.select(this.rConstruct).size();
   }
 
   /*
    * Private instance methods.
    */
 
+  @SuppressWarnings("unchecked")
+  private final CountingSelectable<? super Annotated<? extends AnnotatedConstruct>, Bean<?>> counting() {
+    return (CountingSelectable<? super Annotated<? extends AnnotatedConstruct>, Bean<?>>)this.beans;
+  }
+
   private final Iterator<Bean<?>> beanIterator() {
     return this.rConstruct == null ? emptyIterator() : this.beans.select(this.rConstruct).iterator();
   }
 
+  // Called only on a root Request.
+  @SuppressWarnings("unchecked")
+  private final <X> X memoized(final Bean<X> b) {
+    ConcurrentMap<Id, Memo<?>> memos = this.memos; // volatile read
+    if (memos == null) {
+      memos = new ConcurrentHashMap<>();
+      if (!MEMOS.compareAndSet(this, null, memos)) {
+        memos = this.memos; // volatile read
+      }
+    }
+    if (memos == CLOSED_MEMOS) {
+      throw new IllegalStateException("closed");
+    }
+    final Id id = b.id();
+    Memo<?> task = memos.get(id);
+    if (task != null) {
+      if (task.creator == Thread.currentThread()) { // volatile read
+        // The contextual instance depends on itself; task.get() would never return.
+        throw new ReferenceException("circular dependency on memoized contextual instance: " + id);
+      }
+    } else {
+      // Deliberately not computeIfAbsent: creation may recursively memoize other instances, possibly on other threads.
+      final Memo<X> newTask =
+        new Memo<>(() -> this.instances.instance(b,
+                                                       new Request<X, Void>(this.domain,
+                                                                            this.beans,
+                                                                            this.instances,
+                                                                            this.destructorTree.newChild(), // critical
+                                                                            this.cp,
+                                                                            b,
+                                                                            this.id(),
+                                                                            null, // rConstruct; <R> resolves to Void
+                                                                            null, // views
+                                                                            this)));
+      task = memos.putIfAbsent(id, newTask);
+      if (task == null) {
+        task = newTask;
+        newTask.run();
+      }
+    }
+    try {
+      return (X)task.get();
+    } catch (final ExecutionException e) {
+      memos.remove(id, task); // allow a later attempt
+      final Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException re) {
+        throw re;
+      } else if (cause instanceof Error error) {
+        throw error;
+      }
+      throw new ReferenceException(cause.getMessage(), cause);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ReferenceException(e.getMessage(), e);
+    }
+  }
+
+  private final <X> Request<X, ?> newChild(final Bean<X> b, final ReferencesIterator ri) {
+    final Request<X, ?> child = this.newChild(b);
+    if (ri != null && child != this) {
+      ri.tree = child.destructorTree;
+    }
+    return child;
+  }
+
   @SuppressWarnings("unchecked")
   private final <X> Request<X, ?> newChild(final Bean<X> b) {
     if (b == null) {
@@ -251,7 +708,10 @@ public final class Request<I, R> implements Creation<I>, Destruction, Destructor
                             this.destructorTree.newChild(), // critical; !b.equals(this.b)
                             this.cp,
                             b, // nullable; if so, <X> better resolve to Void
-                            null); // rConstruct; <R> resolves to Void
+                            this.id(),
+                            null, // rConstruct; <R> resolves to Void
+                            null, // views; a new child lazily gets its own
+                            this.root);
   }
 
 
@@ -260,6 +720,77 @@ public final class Request<I, R> implements Creation<I>, Destruction, Destructor
    */
 
 
+  // A small, copy-on-write, identity-based cache of Requests that differ only in their rConstructs. Reads are lock-free
+  // and do not allocate. Generated injection code normally uses only a handful of distinct Annotateds per Request, so
+  // this is bounded; past the bound, Requests are simply not cached.
+  private static final class Views {
+
+    private static final int MAX_SIZE = 16;
+
+    private final Lock lock;
+
+    // Alternating Annotated keys (compared by identity) and Request values.
+    // @GuardedBy("lock") for writes
+    private volatile Object[] entries;
+
+    private Views(final Annotated<? extends AnnotatedConstruct> rConstruct, final Request<?, ?> r) {
+      super();
+      this.lock = new ReentrantLock();
+      this.entries = new Object[] { rConstruct, r };
+    }
+
+    private final Request<?, ?> get(final Annotated<? extends AnnotatedConstruct> rConstruct) {
+      final Object[] entries = this.entries; // volatile read
+      for (int i = 0; i < entries.length; i += 2) {
+        if (entries[i] == rConstruct) {
+          return (Request<?, ?>)entries[i + 1];
+        }
+      }
+      return null;
+    }
+
+    private final Request<?, ?> putIfAbsent(final Annotated<? extends AnnotatedConstruct> rConstruct,
+                                            final Request<?, ?> r) {
+      lock.lock();
+      try {
+        final Request<?, ?> existing = this.get(rConstruct);
+        if (existing != null) {
+          return existing;
+        }
+        final Object[] entries = this.entries;
+        if (entries.length < MAX_SIZE * 2) {
+          final Object[] newEntries = Arrays.copyOf(entries, entries.length + 2);
+          newEntries[entries.length] = rConstruct;
+          newEntries[entries.length + 1] = r;
+          this.entries = newEntries; // volatile write
+        }
+        return r;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+  }
+
+
+  // A memoized contextual instance, under construction or constructed. Records the thread constructing it, so that a
+  // circular dependency on it from that thread can be detected instead of deadlocking.
+  private static final class Memo<X> extends FutureTask<X> {
+
+    private volatile Thread creator; // null once done
+
+    private Memo(final Callable<X> callable) {
+      super(callable);
+      this.creator = Thread.currentThread();
+    }
+
+    @Override // FutureTask<X>
+    protected final void done() {
+      this.creator = null;
+    }
+
+  }
+
   // NOT thread-safe.
   private final class ReferencesIterator implements Iterator<R> {
 
@@ -267,6 +798,11 @@ public final class Request<I, R> implements Creation<I>, Destruction, Destructor
 
     private R ref;
 
+    private boolean removable;
+
+    // The DestructorTree of the child Request, if any, created on behalf of ref; see #reference(Bean, ReferencesIterator)
+    private DestructorTree tree;
+
     private ReferencesIterator() {
       super();
       if (Request.this.rConstruct == null) {
@@ -288,17 +824,30 @@ public final class Request<I, R> implements Creation<I>, Destruction, Destructor
       if (this.i == null) {
         this.i = beanIterator();
       }
-      return this.ref = reference((Bean<R>)this.i.next());
+      final Bean<R> bean = (Bean<R>)this.i.next();
+      this.removable = false;
+      this.ref = null;
+      this.tree = null;
+      this.ref = reference(bean, this);
+      this.removable = true;
+      return this.ref;
     }
 
     @Override // Iterator<R>
     public final void remove() {
-      final R ref = this.ref;
-      if (ref == null) {
+      if (!this.removable) {
         throw new IllegalStateException(); // per Iterator#remove() contract
       }
+      final R ref = this.ref;
+      final DestructorTree tree = this.tree;
+      this.removable = false;
       this.ref = null;
-      destroy(ref);
+      this.tree = null;
+      // A contextual instance that is not a client proxy is not registered under its own identity; its child
+      // DestructorTree is.
+      if (!destroy(ref) && tree != null) {
+        destroy(tree);
+      }
     }
 
   }
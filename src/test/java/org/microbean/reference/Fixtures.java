@@ -0,0 +1,149 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.reference;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import java.util.function.Supplier;
+
+import org.microbean.bean.Bean;
+import org.microbean.bean.BeanTypes;
+import org.microbean.bean.Creation;
+import org.microbean.bean.Factory;
+import org.microbean.bean.Id;
+
+import org.microbean.construct.DefaultDomain;
+import org.microbean.construct.Domain;
+
+import org.microbean.proxy.Proxy;
+
+// Shared test fixtures.
+final class Fixtures {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  static final Domain domain = new DefaultDomain();
+
+
+  /*
+   * Constructors.
+   */
+
+
+  private Fixtures() {
+    super();
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  // Returns a new Bean whose Id is equal to, but not identical to, every other such Bean's Id. FixtureInstances
+  // therefore tells them apart by identity.
+  static final <I> Bean<I> bean(final Factory<I> factory) {
+    return new Bean<>(new Id(new BeanTypes(domain).beanTypes(domain.javaLangObjectType()), List.of()), factory);
+  }
+
+  // Returns a new Bean whose Id's bean types are those of the named type, and so is equal to another such Bean's Id
+  // only if both name the same type.
+  static final <I> Bean<I> bean(final CharSequence typeName, final Factory<I> factory) {
+    return new Bean<>(new Id(new BeanTypes(domain).beanTypes(domain.declaredType(typeName)), List.of()), factory);
+  }
+
+  static final Request<?, ?> request(final Instances instances) {
+    return new Request<>(domain, a -> List.of(), instances, Fixtures::clientProxy);
+  }
+
+  // A ClientProxier producing LazyProxy instances.
+  @SuppressWarnings("unchecked")
+  static final <R> R clientProxy(final Id id, final Supplier<? extends R> s) {
+    return (R)new LazyProxy(s);
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  // An Instances whose proxiable, elidable and memoizable Ids are chosen, by identity, by the test.
+  static final class FixtureInstances implements Instances {
+
+    final Set<Id> proxiable;
+
+    final Set<Id> elidable;
+
+    final Set<Id> memoizable;
+
+    FixtureInstances() {
+      super();
+      this.proxiable = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+      this.elidable = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+      this.memoizable = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    @Override // Instances
+    public final boolean proxiable(final Id id) {
+      return this.proxiable.contains(id);
+    }
+
+    @Override // Instances
+    public final boolean elidable(final Id id) {
+      return this.elidable.contains(id);
+    }
+
+    @Override // Instances
+    public final boolean memoizable(final Id id) {
+      return this.memoizable.contains(id);
+    }
+
+    @Override // Instances
+    public final <I> Supplier<? extends I> supplier(final Bean<I> bean, final Creation<I> creation) {
+      return () -> bean.factory().create(creation);
+    }
+
+    @Override // Instances
+    public final <I> I instance(final Bean<I> bean, final Creation<I> creation) {
+      return bean.factory().create(creation);
+    }
+
+  }
+
+  // A client proxy that acquires its contextual instance on every use, as a client proxy for a normal scope would.
+  static final class LazyProxy implements Proxy<Object> {
+
+    private final Supplier<?> supplier;
+
+    LazyProxy(final Supplier<?> supplier) {
+      super();
+      this.supplier = supplier;
+    }
+
+    @Override // Proxy<Object>
+    public final Object $proxied() {
+      return this.supplier.get();
+    }
+
+  }
+
+}
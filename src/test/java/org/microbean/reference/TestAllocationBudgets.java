@@ -0,0 +1,301 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.reference;
+
+import java.lang.management.ManagementFactory;
+
+import java.util.Iterator;
+import java.util.List;
+
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+import javax.lang.model.AnnotatedConstruct;
+
+import javax.lang.model.type.TypeMirror;
+
+import org.microbean.assign.Annotated;
+
+import org.microbean.bean.Bean;
+import org.microbean.bean.BeanTypes;
+import org.microbean.bean.Constant;
+import org.microbean.bean.Creation;
+import org.microbean.bean.Id;
+
+import org.microbean.construct.DefaultDomain;
+import org.microbean.construct.Domain;
+
+import org.microbean.reference.DestructorRegistry.Destructor;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests that the hot paths of this project allocate no more than their documented budgets.
+ *
+ * <p>Budgets are expressed in bytes allocated per operation, averaged over {@link #OPERATIONS} operations after a
+ * warmup phase, as reported by {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}. They are
+ * deliberately somewhat generous so that differences between JVMs and garbage collectors do not cause spurious
+ * failures, but tight enough that a new per-operation allocation of any appreciable size will exceed them.</p>
+ */
+final class TestAllocationBudgets {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  private static final int ROUNDS = 6; // all but the last are warmup rounds
+
+  private static final int OPERATIONS = 10_000;
+
+  /**
+   * The budget for {@link Request#reference(Bean)} for a non-proxiable {@link Bean}: a child {@link Request}, a child
+   * {@link DefaultDestructorTree} with its {@link java.util.concurrent.locks.Lock}, and that child tree's amortized
+   * registration with its parent.
+   */
+  private static final long REFERENCE_BUDGET = 256L;
+
+  /**
+   * The budget for acquiring an {@link Iterator} from a {@link Request} returned by {@link
+   * Request#references(Annotated)} and invoking {@link Iterator#hasNext()} on it: the iterator itself, and the
+   * selection (which this test's {@link org.microbean.assign.Selectable} creates anew each time) and its {@link
+   * Iterator}. Notably, no {@link Request} is allocated.
+   */
+  private static final long REFERENCES_ITERATOR_BUDGET = 96L;
+
+  /**
+   * The budget for {@link DefaultDestructorTree#register(Object, Destructor)}: amortized growth of the tree's storage.
+   */
+  private static final long REGISTER_BUDGET = 64L;
+
+  /**
+   * The budget for {@link DefaultDestructorTree#remove(Object)}: nothing.
+   */
+  private static final long REMOVE_BUDGET = 8L;
+
+  /**
+   * The budget for {@link DefaultDestructorTree#close()} of a tree with a handful of registrations: iteration over
+   * its registrations.
+   */
+  private static final long CLOSE_BUDGET = 96L;
+
+  private static Domain domain;
+
+  private static Bean<Object> bean;
+
+  private static Annotated<? extends AnnotatedConstruct> annotated;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  private TestAllocationBudgets() {
+    super();
+  }
+
+
+  /*
+   * Lifecycle methods.
+   */
+
+
+  @BeforeAll
+  static final void setup() {
+    assumeTrue(threadMXBean().isThreadAllocatedMemorySupported());
+    threadMXBean().setThreadAllocatedMemoryEnabled(true);
+    domain = new DefaultDomain();
+    final TypeMirror objectType = domain.javaLangObjectType();
+    bean = new Bean<>(new Id(new BeanTypes(domain).beanTypes(objectType), List.of()), new Constant<>(new Object()));
+    annotated = Annotated.of(objectType);
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  @Test
+  final void testReference() {
+    final Request<?, ?>[] requests = new Request<?, ?>[ROUNDS];
+    final long bytes = bytesPerOperation(i -> requests[i] = newRequest(),
+                                         i -> {
+                                           final Request<?, ?> r = requests[i];
+                                           for (int j = 0; j < OPERATIONS; j++) {
+                                             r.reference(bean);
+                                           }
+                                         });
+    for (final Request<?, ?> r : requests) {
+      r.close();
+    }
+    assertWithinBudget("Request#reference(Bean)", bytes, REFERENCE_BUDGET);
+  }
+
+  @Test
+  final void testReferencesIterator() {
+    final Request<?, ?> r = newRequest();
+    r.references(annotated); // prime the Request's cache of derived Requests
+    final long bytes = bytesPerOperation(i -> {},
+                                         i -> {
+                                           for (int j = 0; j < OPERATIONS; j++) {
+                                             r.references(annotated).iterator().hasNext();
+                                           }
+                                         });
+    r.close();
+    assertWithinBudget("Request#references(Annotated).iterator()", bytes, REFERENCES_ITERATOR_BUDGET);
+  }
+
+  @Test
+  final void testRegister() {
+    final DefaultDestructorTree[] trees = new DefaultDestructorTree[ROUNDS];
+    final Object[] instances = newInstances();
+    final Destructor d = () -> {};
+    final long bytes = bytesPerOperation(i -> trees[i] = new DefaultDestructorTree(),
+                                         i -> {
+                                           final DefaultDestructorTree t = trees[i];
+                                           for (final Object instance : instances) {
+                                             t.register(instance, d);
+                                           }
+                                         });
+    assertWithinBudget("DefaultDestructorTree#register(Object, Destructor)", bytes, REGISTER_BUDGET);
+  }
+
+  @Test
+  final void testRemove() {
+    final DefaultDestructorTree[] trees = new DefaultDestructorTree[ROUNDS];
+    final Object[] instances = newInstances();
+    final Destructor d = () -> {};
+    final long bytes = bytesPerOperation(i -> {
+        final DefaultDestructorTree t = new DefaultDestructorTree();
+        for (final Object instance : instances) {
+          t.register(instance, d);
+        }
+        trees[i] = t;
+      },
+      i -> {
+        final DefaultDestructorTree t = trees[i];
+        for (final Object instance : instances) {
+          t.remove(instance);
+        }
+      });
+    assertWithinBudget("DefaultDestructorTree#remove(Object)", bytes, REMOVE_BUDGET);
+  }
+
+  @Test
+  final void testClose() {
+    final DefaultDestructorTree[][] trees = new DefaultDestructorTree[ROUNDS][OPERATIONS];
+    final Object[] instances = new Object[] { new Object(), new Object(), new Object() };
+    final Destructor d = () -> {};
+    final long bytes = bytesPerOperation(i -> {
+        final DefaultDestructorTree[] ts = trees[i];
+        for (int j = 0; j < ts.length; j++) {
+          final DefaultDestructorTree t = new DefaultDestructorTree();
+          for (final Object instance : instances) {
+            t.register(instance, d);
+          }
+          ts[j] = t;
+        }
+      },
+      i -> {
+        for (final DefaultDestructorTree t : trees[i]) {
+          t.close();
+        }
+      });
+    assertWithinBudget("DefaultDestructorTree#close()", bytes, CLOSE_BUDGET);
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  // Runs setup (unmeasured) and then operation (measured) once per round, passing each the round number. Each
+  // invocation of operation must perform OPERATIONS operations. Returns the bytes allocated per operation in the last
+  // round; all prior rounds are warmup.
+  private static final long bytesPerOperation(final IntConsumer setup, final IntConsumer operation) {
+    final com.sun.management.ThreadMXBean tmx = threadMXBean();
+    final long threadId = Thread.currentThread().threadId();
+    long bytes = 0L;
+    for (int round = 0; round < ROUNDS; round++) {
+      setup.accept(round);
+      final long before = tmx.getThreadAllocatedBytes(threadId);
+      operation.accept(round);
+      bytes = tmx.getThreadAllocatedBytes(threadId) - before;
+    }
+    return bytes / OPERATIONS;
+  }
+
+  private static final void assertWithinBudget(final String operation, final long bytes, final long budget) {
+    assertTrue(bytes <= budget, operation + " allocated " + bytes + " bytes per operation; budget: " + budget);
+  }
+
+  private static final Object[] newInstances() {
+    final Object[] instances = new Object[OPERATIONS];
+    for (int i = 0; i < instances.length; i++) {
+      instances[i] = new Object();
+    }
+    return instances;
+  }
+
+  private static final Request<?, ?> newRequest() {
+    return new Request<>(domain, a -> List.of(bean), new DirectInstances(), TestAllocationBudgets::clientProxy);
+  }
+
+  // A "client proxy" that is simply the contextual instance.
+  private static final <R> R clientProxy(final Id id, final Supplier<? extends R> s) {
+    return s.get();
+  }
+
+  private static final com.sun.management.ThreadMXBean threadMXBean() {
+    return (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  private static final class DirectInstances implements Instances {
+
+    private DirectInstances() {
+      super();
+    }
+
+    @Override // Instances
+    public final boolean proxiable(final Id id) {
+      return false;
+    }
+
+    @Override // Instances
+    public final <I> Supplier<? extends I> supplier(final Bean<I> bean, final Creation<I> creation) {
+      return () -> bean.factory().create(creation);
+    }
+
+    @Override // Instances
+    public final <I> I instance(final Bean<I> bean, final Creation<I> creation) {
+      return bean.factory().create(creation);
+    }
+
+  }
+
+}
@@ -0,0 +1,84 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.reference;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import java.util.function.Supplier;
+
+import org.microbean.bean.Id;
+
+import org.microbean.proxy.Proxy;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+final class TestCachingClientProxier {
+
+  private TestCachingClientProxier() {
+    super();
+  }
+
+  @Test
+  final void testCacheHitsAndEpochInvalidation() throws InterruptedException {
+    final Id id = Fixtures.bean(c -> null).id();
+    final AtomicLong epoch = new AtomicLong();
+    final AtomicInteger resolutions = new AtomicInteger();
+    final Supplier<Object> s = () -> {
+      resolutions.incrementAndGet();
+      return new Object();
+    };
+    final CachingClientProxier cp = new CachingClientProxier(Fixtures::clientProxy, x -> epoch::get);
+    final Proxy<?> p0 = (Proxy<?>)cp.clientProxy(id, s);
+    final Proxy<?> p1 = (Proxy<?>)cp.clientProxy(id, s);
+
+    // Hits, including across client proxies for the same Id.
+    final Object i0 = p0.$proxied();
+    assertSame(i0, p0.$proxied());
+    assertSame(i0, p1.$proxied());
+    assertEquals(1, resolutions.get());
+
+    // Another thread has its own cache entry.
+    final Object[] other = new Object[1];
+    final Thread t = Thread.ofVirtual().start(() -> other[0] = p0.$proxied());
+    t.join();
+    assertNotSame(i0, other[0]);
+    assertEquals(2, resolutions.get());
+
+    // Advancing the epoch invalidates.
+    epoch.incrementAndGet();
+    final Object i1 = p1.$proxied();
+    assertNotSame(i0, i1);
+    assertSame(i1, p0.$proxied());
+    assertEquals(3, resolutions.get());
+
+    // Clearing releases.
+    cp.clear();
+    assertNotSame(i1, p0.$proxied());
+    assertEquals(4, resolutions.get());
+  }
+
+  @Test
+  final void testNoEpochNoCaching() {
+    final Id id = Fixtures.bean(c -> null).id();
+    final CachingClientProxier cp = new CachingClientProxier(Fixtures::clientProxy, x -> null);
+    final Proxy<?> p = (Proxy<?>)cp.clientProxy(id, Object::new);
+    assertNotSame(p.$proxied(), p.$proxied());
+  }
+
+}
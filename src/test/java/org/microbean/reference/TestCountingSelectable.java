@@ -0,0 +1,62 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.reference;
+
+import java.util.List;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.microbean.bean.AmbiguousResolutionException;
+import org.microbean.bean.UnsatisfiedResolutionException;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class TestCountingSelectable {
+
+  private TestCountingSelectable() {
+    super();
+  }
+
+  @Test
+  final void testStopsAtSecondMatch() {
+    final AtomicInteger tests = new AtomicInteger();
+    final CountingSelectable<Integer, Integer> s =
+      CountingSelectable.filtering(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), (c, e) -> {
+          tests.incrementAndGet();
+          return e % c == 0;
+        });
+
+    assertTrue(s.isAmbiguous(1));
+    assertEquals(2, tests.getAndSet(0));
+
+    assertEquals(7, s.unique(7));
+    assertEquals(10, tests.getAndSet(0));
+
+    final AmbiguousResolutionException e = assertThrows(AmbiguousResolutionException.class, () -> s.unique(3));
+    assertEquals(List.of(3, 6, 9), e.alternates());
+
+    tests.set(0);
+    assertFalse(s.isUnsatisfied(4));
+    assertEquals(4, tests.getAndSet(0));
+
+    assertEquals(3, s.size(3));
+    assertThrows(UnsatisfiedResolutionException.class, () -> s.unique(11));
+  }
+
+}
@@ -0,0 +1,256 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.reference;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.microbean.bean.Bean;
+
+import org.microbean.proxy.Proxy;
+
+import org.microbean.reference.DestructorRegistry.BatchDestructor;
+import org.microbean.reference.DestructorRegistry.Destructor;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class TestDefaultDestructorTree {
+
+  private TestDefaultDestructorTree() {
+    super();
+  }
+
+  @Test
+  final void testRegisterRemoveAndCloseAtEverySize() {
+    // Sizes straddle every storage representation.
+    for (int size = 0; size <= 40; size++) {
+      final DefaultDestructorTree t = new DefaultDestructorTree();
+      final Object[] references = new Object[size];
+      final AtomicInteger[] counts = new AtomicInteger[size];
+      final Destructor[] destructors = new Destructor[size];
+      for (int i = 0; i < size; i++) {
+        // Equal but not identical references.
+        references[i] = new String("x");
+        final AtomicInteger count = counts[i] = new AtomicInteger();
+        destructors[i] = count::incrementAndGet;
+        assertTrue(t.register(references[i], destructors[i]));
+        assertFalse(t.register(references[i], destructors[i]));
+      }
+      assertEquals(size, t.statistics().orElseThrow().size());
+      // Remove every third reference.
+      for (int i = 0; i < size; i += 3) {
+        assertSame(destructors[i], t.remove(references[i]));
+        assertNull(t.remove(references[i]));
+      }
+      t.close();
+      for (int i = 0; i < size; i++) {
+        assertEquals(i % 3 == 0 ? 0 : 1, counts[i].get());
+      }
+      assertFalse(t.register(new Object(), () -> {}));
+      t.close();
+      for (int i = 0; i < size; i++) {
+        assertEquals(i % 3 == 0 ? 0 : 1, counts[i].get());
+      }
+    }
+  }
+
+  @Test
+  final void testLifoCloseAtEverySize() {
+    // Sizes straddle every storage representation, including log compaction.
+    for (int size = 0; size <= 80; size++) {
+      final DefaultDestructorTree t = new DefaultDestructorTree(true);
+      final List<Integer> destroyed = new ArrayList<>();
+      final List<Integer> expected = new ArrayList<>();
+      final Object[] references = new Object[size];
+      for (int i = 0; i < size; i++) {
+        final Integer n = i;
+        references[i] = new Object();
+        assertTrue(t.register(references[i], () -> destroyed.add(n)));
+        assertFalse(t.register(references[i], () -> destroyed.add(-1)));
+      }
+      // Remove all but every third reference.
+      for (int i = 0; i < size; i++) {
+        if (i % 3 == 0) {
+          expected.add(0, i);
+        } else {
+          assertNotNull(t.remove(references[i]));
+          assertNull(t.remove(references[i]));
+        }
+      }
+      assertEquals(expected.size(), t.statistics().orElseThrow().size());
+      final DefaultDestructorTree child = t.newChild();
+      final AtomicInteger count = new AtomicInteger();
+      child.register(new Object(), count::incrementAndGet);
+      t.close();
+      assertEquals(1, count.get());
+      assertEquals(expected, destroyed);
+    }
+  }
+
+  @Test
+  final void testRegisterAll() {
+    this.testRegisterAll(false);
+    this.testRegisterAll(true);
+  }
+
+  private final void testRegisterAll(final boolean lifo) {
+    final DefaultDestructorTree t = new DefaultDestructorTree(lifo);
+    final AtomicInteger count = new AtomicInteger();
+    final Object existing = new Object();
+    assertTrue(t.register(existing, count::incrementAndGet));
+    final Map<Object, Destructor> registrations = new IdentityHashMap<>();
+    registrations.put(existing, count::incrementAndGet);
+    for (int i = 0; i < 20; i++) {
+      registrations.put(new Object(), count::incrementAndGet);
+    }
+    assertEquals(20, t.registerAll(registrations));
+    assertEquals(21, t.statistics().orElseThrow().size());
+    t.close();
+    assertEquals(21, count.get());
+  }
+
+  @Test
+  final void testBatchDestructor() {
+    final List<List<? extends Integer>> calls = new ArrayList<>();
+    final BatchDestructor<Integer> batch = instances -> {
+      synchronized (calls) {
+        calls.add(instances);
+      }
+    };
+    final DefaultDestructorTree t = new DefaultDestructorTree();
+    final AtomicInteger count = new AtomicInteger();
+    final Integer[] instances = new Integer[20];
+    for (int i = 0; i < instances.length; i++) {
+      instances[i] = Integer.valueOf(1000 + i);
+      assertTrue(t.register(instances[i], batch));
+      assertTrue(t.register(new Object(), count::incrementAndGet));
+    }
+    // Destroyed individually, and only once.
+    final Destructor d = t.remove(instances[3]);
+    d.destroy();
+    d.destroy();
+    assertEquals(List.of(List.of(1003)), calls);
+    t.close();
+    assertEquals(20, count.get());
+    assertEquals(2, calls.size());
+    assertEquals(19, calls.get(1).size());
+    assertFalse(calls.get(1).contains(1003));
+  }
+
+  @Test
+  final void testBatchDestructorLifo() {
+    final List<List<? extends Integer>> calls = new ArrayList<>();
+    final BatchDestructor<Integer> batch = instances -> {
+      synchronized (calls) {
+        calls.add(instances);
+      }
+    };
+    final DefaultDestructorTree t = new DefaultDestructorTree(true);
+    final List<Integer> destroyed = new ArrayList<>();
+    final Integer[] instances = new Integer[20];
+    for (int i = 0; i < instances.length; i++) {
+      instances[i] = Integer.valueOf(1000 + i);
+      assertTrue(t.register(instances[i], batch));
+      final Integer other = Integer.valueOf(2000 + i);
+      assertTrue(t.register(other, () -> destroyed.add(other)));
+    }
+    // Destroyed individually, and only once, leaving a tombstone in the log.
+    final Destructor d = t.remove(instances[3]);
+    d.destroy();
+    d.destroy();
+    assertEquals(List.of(List.of(1003)), calls);
+    t.close();
+    // Everything else is destroyed in the reverse of registration order, and batched instances are destroyed once,
+    // after everything else, in the same order.
+    final List<Integer> expected = new ArrayList<>();
+    for (int i = instances.length - 1; i >= 0; i--) {
+      if (i != 3) {
+        expected.add(instances[i]);
+      }
+    }
+    assertEquals(2, calls.size());
+    assertEquals(expected, calls.get(1));
+    assertEquals(20, destroyed.size());
+    for (int i = 0; i < destroyed.size(); i++) {
+      assertEquals(2019 - i, destroyed.get(i).intValue());
+    }
+  }
+
+  @Test
+  final void testBatchesSpanChildren() {
+    testBatchesSpanChildren(false);
+    testBatchesSpanChildren(true);
+  }
+
+  private static final void testBatchesSpanChildren(final boolean lifo) {
+    final List<List<?>> calls = new ArrayList<>();
+    final BatchDestructor<Object> batch = instances -> {
+      synchronized (calls) {
+        calls.add(instances);
+      }
+    };
+    final Fixtures.FixtureInstances instances = new Fixtures.FixtureInstances();
+    final Bean<Object> dependent = Fixtures.bean(c -> {
+        final Object o = new Object();
+        assertTrue(((DestructorRegistry)c).register(o, batch));
+        return o;
+      });
+    // A dependent with a dependent of its own, so that batched instances are two levels down.
+    final Bean<Object> outer = Fixtures.bean(c -> c.reference(dependent));
+    final Bean<Object> proxied = Fixtures.bean(c -> c.reference(dependent));
+    instances.proxiable.add(proxied.id());
+    final Request<?, ?> root =
+      new Request<>(Fixtures.domain, a -> List.of(), instances, new DefaultDestructorTree(lifo), Fixtures::clientProxy);
+    for (int i = 0; i < 50; i++) {
+      root.reference(dependent);
+      root.reference(outer);
+    }
+    // Client proxies' children are registered under the client proxies.
+    final Proxy<?> p0 = (Proxy<?>)root.reference(proxied);
+    final Proxy<?> p1 = (Proxy<?>)root.reference(proxied);
+    p0.$proxied();
+    p1.$proxied();
+
+    // A child destroyed on its own destroys its batched instances on its own.
+    assertTrue(root.destroy(p0));
+    assertEquals(1, calls.size());
+    assertEquals(1, calls.get(0).size());
+
+    root.close();
+    assertEquals(2, calls.size());
+    assertEquals(101, calls.get(1).size());
+  }
+
+  @Test
+  final void testBatchDestructorPermitsNull() {
+    final List<List<?>> calls = new ArrayList<>();
+    final BatchDestructor<Object> batch = calls::add;
+    batch.destructor(null).destroy();
+    assertEquals(1, calls.size());
+    assertEquals(1, calls.get(0).size());
+    assertNull(calls.get(0).get(0));
+  }
+
+}
@@ -0,0 +1,100 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.reference;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class TestDestructorTreeMonitor {
+
+  private TestDestructorTreeMonitor() {
+    super();
+  }
+
+  @Test
+  final void testTracksOpenRootTrees() {
+    final DestructorTreeMonitor monitor = DestructorTreeMonitor.install();
+    try {
+      assertSame(monitor, DestructorTreeMonitor.install());
+      final List<Request<?, ?>> requests = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+        final Request<?, ?> r = Fixtures.request(new Fixtures.FixtureInstances());
+        r.register(new Object(), () -> {});
+        r.register(new Object(), () -> {});
+        requests.add(r);
+      }
+      requests.add(new Request<>(Fixtures.domain,
+                                 a -> List.of(),
+                                 new Fixtures.FixtureInstances(),
+                                 new OpaqueTree(),
+                                 Fixtures::clientProxy));
+      // Other tests may be creating Requests concurrently.
+      assertTrue(monitor.getOpenTreeCount() >= 3);
+      assertTrue(monitor.getEntryCount() >= 6);
+      assertTrue(monitor.getUnintrospectableTreeCount() >= 1);
+      final long[] distribution = monitor.getDepthDistribution();
+      assertEquals(monitor.getMaxDepth() + 1, distribution.length);
+      long trees = 0L;
+      for (final long n : distribution) {
+        trees += n;
+      }
+      // All attributes read within a short time come from the same snapshot.
+      assertEquals(monitor.getOpenTreeCount(), trees);
+      for (final Request<?, ?> r : requests) {
+        r.close();
+      }
+    } finally {
+      assertTrue(DestructorTreeMonitor.uninstall());
+    }
+  }
+
+  // A DestructorTree that does not support introspection.
+  private static final class OpaqueTree implements DestructorTree {
+
+    private final DefaultDestructorTree delegate;
+
+    private OpaqueTree() {
+      super();
+      this.delegate = new DefaultDestructorTree();
+    }
+
+    @Override // DestructorTree
+    public final void close() {
+      this.delegate.close();
+    }
+
+    @Override // DestructorTree
+    public final DestructorTree newChild() {
+      return this.delegate.newChild();
+    }
+
+    @Override // DestructorRegistry
+    public final boolean register(final Object reference, final Destructor destructor) {
+      return this.delegate.register(reference, destructor);
+    }
+
+    @Override // DestructorTree
+    public final Destructor remove(final Object reference) {
+      return this.delegate.remove(reference);
+    }
+
+  }
+
+}
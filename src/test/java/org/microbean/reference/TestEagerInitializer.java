@@ -0,0 +1,172 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.reference;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SequencedSet;
+import java.util.Set;
+
+import javax.lang.model.AnnotatedConstruct;
+
+import javax.lang.model.element.Element;
+
+import org.microbean.assign.Annotated;
+
+import org.microbean.bean.Bean;
+import org.microbean.bean.Creation;
+import org.microbean.bean.Factory;
+import org.microbean.bean.Id;
+
+import org.microbean.reference.Fixtures.FixtureInstances;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class TestEagerInitializer {
+
+  private final List<String> created;
+
+  private final Map<Element, Bean<?>> beans;
+
+  private final FixtureInstances instances;
+
+  private final Set<Id> requestScoped;
+
+  private TestEagerInitializer() {
+    super();
+    this.created = Collections.synchronizedList(new ArrayList<>());
+    this.beans = new LinkedHashMap<>();
+    this.instances = new FixtureInstances();
+    this.requestScoped = new HashSet<>();
+  }
+
+  @Test
+  final void testLevelOrdering() {
+    this.bean("java.lang.String", false);
+    this.bean("java.lang.Integer", false, "java.lang.String");
+    this.bean("java.lang.Long", false, "java.lang.String");
+    this.bean("java.lang.Short", false, "java.lang.Integer", "java.lang.Long");
+    this.instances.proxiable.remove(this.bean("java.lang.Byte", false).id()); // not proxiable; never created eagerly
+    this.initialize();
+    assertEquals(Set.of("java.lang.String", "java.lang.Integer", "java.lang.Long", "java.lang.Short"),
+                 Set.copyOf(this.created));
+    assertEquals("java.lang.String", this.created.get(0));
+    assertEquals("java.lang.Short", this.created.get(3));
+  }
+
+  @Test
+  final void testFailuresAreAggregatedAndDependentsSkipped() {
+    this.bean("java.lang.String", true);
+    this.bean("java.lang.Integer", true);
+    this.bean("java.lang.Long", false, "java.lang.String"); // skipped
+    this.bean("java.lang.Short", false, "java.lang.Long"); // skipped, transitively
+    this.bean("java.lang.Byte", false, "java.lang.Integer", "java.lang.Double"); // skipped
+    this.bean("java.lang.Double", false);
+    final ReferenceException e = assertThrows(ReferenceException.class, this::initialize);
+    final Set<String> messages = new LinkedHashSet<>();
+    messages.add(e.getCause().getMessage());
+    for (final Throwable t : e.getSuppressed()) {
+      messages.add(t.getMessage());
+    }
+    assertEquals(Set.of("java.lang.String", "java.lang.Integer"), messages);
+    assertEquals(List.of("java.lang.Double"), this.created);
+  }
+
+  @Test
+  final void testIneligibleBeansAreSkipped() {
+    this.bean("java.lang.String", false);
+    this.requestScoped.add(this.bean("java.lang.Integer", false).id()); // proxiable, but not eligible
+    this.bean("java.lang.Long", false, "java.lang.Integer"); // still eligible; its dependency is resolved lazily
+    this.initialize();
+    assertEquals(Set.of("java.lang.String", "java.lang.Long"), Set.copyOf(this.created));
+  }
+
+  @Test
+  final void testInterruption() {
+    this.bean("java.lang.String", false);
+    this.bean("java.lang.Integer", false, "java.lang.String");
+    Thread.currentThread().interrupt();
+    try {
+      assertThrows(ReferenceException.class, this::initialize);
+      assertTrue(Thread.currentThread().isInterrupted());
+      assertFalse(this.created.contains("java.lang.Integer")); // later levels are not attempted
+    } finally {
+      Thread.interrupted(); // clear it
+    }
+  }
+
+  @Test
+  final void testCycles() {
+    this.bean("java.lang.String", false, "java.lang.Integer");
+    this.bean("java.lang.Integer", false, "java.lang.String");
+    this.bean("java.lang.Long", false, "java.lang.String");
+    this.bean("java.lang.Short", false);
+    this.initialize();
+    assertEquals(4, this.created.size());
+    assertEquals("java.lang.Short", this.created.get(0));
+    assertTrue(this.created.containsAll(List.of("java.lang.String", "java.lang.Integer", "java.lang.Long")));
+  }
+
+  private final void initialize() {
+    final Request<?, ?> request =
+      new Request<>(Fixtures.domain, this::select, this.instances, Fixtures::clientProxy);
+    try (request) {
+      new EagerInitializer(this::select, this.instances, id -> !this.requestScoped.contains(id))
+        .initialize(this.beans.values(), request);
+    }
+  }
+
+  private final List<Bean<?>> select(final Annotated<? extends AnnotatedConstruct> a) {
+    final Bean<?> b = this.beans.get(a.annotated());
+    return b == null ? List.of() : List.of(b);
+  }
+
+  // Adds a proxiable Bean, selected by the TypeElement named by typeName, whose Factory records the creation of its
+  // contextual instance, or fails if fail is true, and which depends on the Beans selected by the TypeElements named
+  // by dependencies.
+  private final Bean<Object> bean(final String typeName, final boolean fail, final String... dependencies) {
+    final SequencedSet<Annotated<Element>> ds = new LinkedHashSet<>();
+    for (final String d : dependencies) {
+      ds.add(Annotated.of((Element)Fixtures.domain.typeElement(d)));
+    }
+    final Bean<Object> b = Fixtures.bean(typeName, new Factory<>() {
+        @Override // Factory<Object>
+        public final Object create(final Creation<Object> c) {
+          if (fail) {
+            throw new IllegalStateException(typeName);
+          }
+          created.add(typeName);
+          return new Object();
+        }
+        @Override // Aggregate
+        public final SequencedSet<Annotated<Element>> dependencies() {
+          return ds;
+        }
+      });
+    this.beans.put(Fixtures.domain.typeElement(typeName), b);
+    this.instances.proxiable.add(b.id());
+    return b;
+  }
+
+}
@@ -0,0 +1,82 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.reference;
+
+import java.util.List;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import java.util.function.Supplier;
+
+import org.microbean.bean.Bean;
+import org.microbean.bean.Id;
+
+import org.microbean.proxy.Proxy;
+
+import org.microbean.reference.DestructorTree.Statistics;
+import org.microbean.reference.Fixtures.FixtureInstances;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class TestElision {
+
+  private TestElision() {
+    super();
+  }
+
+  @Test
+  final void testElidableIdYieldsInstanceAndChildTree() {
+    final FixtureInstances instances = new FixtureInstances();
+    final AtomicInteger proxies = new AtomicInteger();
+    final AtomicInteger destroyed = new AtomicInteger();
+    final Object instance = new Object();
+    final Bean<Object> bean = Fixtures.bean(c -> {
+        ((DestructorRegistry)c).register(instance, destroyed::incrementAndGet);
+        return instance;
+      });
+    instances.proxiable.add(bean.id());
+    instances.elidable.add(bean.id());
+    final DefaultDestructorTree t = new DefaultDestructorTree();
+    final ClientProxier cp = new ClientProxier() {
+        @Override // ClientProxier
+        public final <R> R clientProxy(final Id id, final Supplier<? extends R> s) {
+          proxies.incrementAndGet();
+          return Fixtures.clientProxy(id, s);
+        }
+      };
+    try (final Request<?, ?> root = new Request<>(Fixtures.domain, a -> List.of(), instances, t, cp)) {
+      final Object reference = root.reference(bean);
+      assertSame(instance, reference);
+      assertFalse(reference instanceof Proxy<?>);
+      assertEquals(0, proxies.get());
+
+      final Statistics s = t.statistics().orElseThrow();
+      assertEquals(1, s.children());
+      assertEquals(2, s.totalSize()); // the child tree, and the instance registered in it
+      assertEquals(0, destroyed.get());
+
+      // Without elision, a client proxy is created as usual.
+      instances.elidable.remove(bean.id());
+      assertTrue(root.reference(bean) instanceof Proxy<?>);
+      assertEquals(1, proxies.get());
+    }
+    assertEquals(1, destroyed.get());
+  }
+
+}
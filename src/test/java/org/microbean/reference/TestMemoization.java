@@ -0,0 +1,110 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.reference;
+
+import java.time.Duration;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.microbean.bean.Bean;
+
+import org.microbean.reference.Fixtures.FixtureInstances;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+final class TestMemoization {
+
+  private TestMemoization() {
+    super();
+  }
+
+  @Test
+  final void testOncePerRootSharedAndDestroyedOnce() {
+    final FixtureInstances instances = new FixtureInstances();
+    final AtomicInteger creations = new AtomicInteger();
+    final AtomicInteger destructions = new AtomicInteger();
+    final Bean<Object> memoized = Fixtures.bean(c -> {
+        creations.incrementAndGet();
+        final Object o = new Object();
+        ((DestructorRegistry)c).register(o, destructions::incrementAndGet);
+        return o;
+      });
+    instances.memoizable.add(memoized.id());
+    // A non-memoizable Bean whose instances hold the memoized instance.
+    final Bean<Object[]> dependent = Fixtures.bean(c -> new Object[] { c.reference(memoized) });
+
+    final Request<?, ?> root = Fixtures.request(instances);
+    final Object m = root.reference(memoized);
+    assertSame(m, root.reference(memoized));
+    final Object[] d0 = root.reference(dependent);
+    final Object[] d1 = root.reference(dependent);
+    assertNotSame(d0, d1);
+    assertSame(m, d0[0]);
+    assertSame(m, d1[0]);
+    assertEquals(1, creations.get());
+
+    assertEquals(0, destructions.get());
+
+    root.close();
+    root.close();
+    assertEquals(1, destructions.get());
+    assertThrows(IllegalStateException.class, () -> root.reference(memoized));
+
+    // A new root memoizes anew.
+    final Request<?, ?> other = Fixtures.request(instances);
+    assertNotSame(m, other.reference(memoized));
+    assertEquals(2, creations.get());
+    other.close();
+    assertEquals(2, destructions.get());
+  }
+
+  @Test
+  final void testRetryAfterFailure() {
+    final FixtureInstances instances = new FixtureInstances();
+    final AtomicInteger attempts = new AtomicInteger();
+    final Bean<Object> memoized = Fixtures.bean(c -> {
+        if (attempts.incrementAndGet() == 1) {
+          throw new IllegalArgumentException("first");
+        }
+        return new Object();
+      });
+    instances.memoizable.add(memoized.id());
+    try (final Request<?, ?> root = Fixtures.request(instances)) {
+      assertEquals("first", assertThrows(IllegalArgumentException.class, () -> root.reference(memoized)).getMessage());
+      final Object m = root.reference(memoized);
+      assertSame(m, root.reference(memoized));
+      assertEquals(2, attempts.get());
+    }
+  }
+
+  @Test
+  final void testCircularDependencyFails() {
+    final FixtureInstances instances = new FixtureInstances();
+    final Bean<?>[] self = new Bean<?>[1];
+    final Bean<Object> memoized = Fixtures.bean(c -> c.reference(self[0]));
+    self[0] = memoized;
+    instances.memoizable.add(memoized.id());
+    try (final Request<?, ?> root = Fixtures.request(instances)) {
+      assertTimeoutPreemptively(Duration.ofSeconds(10),
+                                () -> assertThrows(ReferenceException.class, () -> root.reference(memoized)));
+    }
+  }
+
+}
@@ -0,0 +1,83 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.reference;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.microbean.bean.Bean;
+import org.microbean.bean.Creation;
+import org.microbean.bean.Destruction;
+import org.microbean.bean.Factory;
+
+import org.microbean.reference.Fixtures.FixtureInstances;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+final class TestPoolingInstances {
+
+  private TestPoolingInstances() {
+    super();
+  }
+
+  @Test
+  final void testRecycling() {
+    final AtomicInteger creations = new AtomicInteger();
+    final List<StringBuilder> destroyed = new ArrayList<>();
+    final Bean<StringBuilder> bean = Fixtures.bean(new Factory<>() {
+        @Override // Factory<StringBuilder>
+        public final StringBuilder create(final Creation<StringBuilder> c) {
+          creations.incrementAndGet();
+          return new StringBuilder();
+        }
+        @Override // Factory<StringBuilder>
+        public final void destroy(final StringBuilder sb, final Destruction d) {
+          destroyed.add(sb);
+        }
+      });
+    final Instances instances = new PoolingInstances(new FixtureInstances(), id -> sb -> {
+        ((StringBuilder)sb).setLength(0);
+        return true;
+    }, 1);
+
+    final StringBuilder sb;
+    final StringBuilder other;
+    try (final Request<?, ?> r = Fixtures.request(instances)) {
+      sb = r.reference(bean);
+      sb.append("dirty");
+      other = r.reference(bean);
+      assertNotSame(sb, other);
+    }
+    assertEquals(2, creations.get());
+    // Only one pooled instance is idle at a time; the one that did not fit was destroyed.
+    assertEquals(1, destroyed.size());
+    assertSame(other, destroyed.get(0));
+
+    try (final Request<?, ?> r = Fixtures.request(instances)) {
+      assertSame(sb, r.reference(bean));
+      assertEquals(0, sb.length());
+      assertEquals(2, creations.get());
+      // The pool is now empty.
+      assertNotSame(sb, r.reference(bean));
+      assertEquals(3, creations.get());
+    }
+  }
+
+}
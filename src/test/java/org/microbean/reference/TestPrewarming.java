@@ -0,0 +1,67 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.reference;
+
+import java.util.List;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.microbean.assign.Annotated;
+
+import org.microbean.bean.Bean;
+
+import org.microbean.reference.Fixtures.FixtureInstances;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+final class TestPrewarming {
+
+  private TestPrewarming() {
+    super();
+  }
+
+  @Test
+  final void testReferencesAreReleasedAsTheyAreAcquired() {
+    final FixtureInstances instances = new FixtureInstances();
+    final AtomicInteger live = new AtomicInteger();
+    final AtomicInteger maxLive = new AtomicInteger();
+    final AtomicInteger created = new AtomicInteger();
+    final Bean<Object> plain = Fixtures.bean(c -> {
+        created.incrementAndGet();
+        maxLive.accumulateAndGet(live.incrementAndGet(), Math::max);
+        final Object o = new Object();
+        ((DestructorRegistry)c).register(o, live::decrementAndGet);
+        return o;
+      });
+    final AtomicInteger memoDestroyed = new AtomicInteger();
+    final Bean<Object> memo = Fixtures.bean(c -> {
+        final Object o = new Object();
+        ((DestructorRegistry)c).register(o, memoDestroyed::incrementAndGet);
+        return o;
+      });
+    instances.memoizable.add(memo.id());
+    final Request<?, ?> request =
+      new Request<>(Fixtures.domain, a -> List.of(plain, memo, plain), instances, Fixtures::clientProxy);
+
+    Prewarming.prewarm(request, List.of(Annotated.of(Fixtures.domain.javaLangObjectType())), 2);
+
+    assertEquals(6, created.get()); // two per pass, three passes
+    assertEquals(1, maxLive.get());
+    assertEquals(0, live.get());
+    assertEquals(1, memoDestroyed.get()); // on close
+  }
+
+}
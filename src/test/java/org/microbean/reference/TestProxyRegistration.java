@@ -0,0 +1,145 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.reference;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.microbean.bean.Bean;
+
+import org.microbean.proxy.Proxy;
+
+import org.microbean.reference.DestructorRegistry.Destructor;
+import org.microbean.reference.DestructorTree.Statistics;
+import org.microbean.reference.Fixtures.FixtureInstances;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class TestProxyRegistration {
+
+  private TestProxyRegistration() {
+    super();
+  }
+
+  @Test
+  final void testStatisticsSeeChildrenRegisteredUnderClientProxies() {
+    testStatisticsSeeChildrenRegisteredUnderClientProxies(false);
+    testStatisticsSeeChildrenRegisteredUnderClientProxies(true);
+  }
+
+  private static final void testStatisticsSeeChildrenRegisteredUnderClientProxies(final boolean lifo) {
+    final FixtureInstances instances = new FixtureInstances();
+    final Bean<Object> proxied = Fixtures.bean(c -> {
+        final Object o = new Object();
+        ((DestructorRegistry)c).register(o, () -> {});
+        return o;
+      });
+    instances.proxiable.add(proxied.id());
+    final Bean<Object> plain = Fixtures.bean(c -> new Object());
+    // Enough client proxies to exercise every storage representation.
+    for (final int count : new int[] { 1, 2, 10, 40 }) {
+      final DefaultDestructorTree t = new DefaultDestructorTree(lifo);
+      final Request<?, ?> root = new Request<>(Fixtures.domain, a -> List.of(), instances, t, Fixtures::clientProxy);
+      try (root) {
+        final List<Proxy<?>> proxies = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+          proxies.add((Proxy<?>)root.reference(proxied));
+        }
+        root.reference(plain);
+        proxies.get(0).$proxied(); // registers one instance in the first client proxy's child tree
+
+        Statistics s = t.statistics().orElseThrow();
+        assertEquals(count + 1, s.size());
+        assertEquals(count + 1, s.children());
+        assertEquals(count + 2, s.totalSize());
+        assertEquals(1, s.depth());
+
+        assertTrue(root.destroy(proxies.get(0)));
+        assertFalse(root.destroy(proxies.get(0)));
+        s = t.statistics().orElseThrow();
+        assertEquals(count, s.children());
+        assertEquals(count, s.totalSize());
+      }
+    }
+  }
+
+  @Test
+  final void testChildIsClosedIfTreeClosesDuringReregistration() {
+    final FixtureInstances instances = new FixtureInstances();
+    final Bean<Object> proxied = Fixtures.bean(c -> new Object());
+    instances.proxiable.add(proxied.id());
+    final ClosingTree t = new ClosingTree();
+    final Request<?, ?> root = new Request<>(Fixtures.domain, a -> List.of(), instances, t, Fixtures::clientProxy);
+    root.reference(proxied);
+    assertTrue(t.delegate.statistics().orElseThrow().closed());
+    assertTrue(t.child.statistics().orElseThrow().closed());
+    assertEquals(1, t.closes.get());
+  }
+
+  // A DestructorTree that closes itself immediately after anything is removed from it, simulating a concurrent close
+  // between Request#reference(Bean)'s removal and re-registration of a client proxy's child tree.
+  private static final class ClosingTree implements DestructorTree {
+
+    private final DefaultDestructorTree delegate;
+
+    private final AtomicInteger closes;
+
+    private DestructorTree child;
+
+    private ClosingTree() {
+      super();
+      this.delegate = new DefaultDestructorTree();
+      this.closes = new AtomicInteger();
+    }
+
+    @Override // DestructorTree
+    public final void close() {
+      this.delegate.close();
+    }
+
+    @Override // DestructorTree
+    public final DestructorTree newChild() {
+      final DefaultDestructorTree child = this.delegate.newChild();
+      child.register(new Object(), this.closes::incrementAndGet);
+      this.child = child;
+      return child;
+    }
+
+    @Override // DestructorRegistry
+    public final boolean register(final Object reference, final Destructor destructor) {
+      return this.delegate.register(reference, destructor);
+    }
+
+    @Override // DestructorRegistry
+    public final int registerAll(final Map<?, ? extends Destructor> registrations) {
+      return this.delegate.registerAll(registrations);
+    }
+
+    @Override // DestructorTree
+    public final Destructor remove(final Object reference) {
+      final Destructor d = this.delegate.remove(reference);
+      this.delegate.close();
+      return d;
+    }
+
+  }
+
+}
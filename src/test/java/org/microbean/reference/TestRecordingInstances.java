@@ -0,0 +1,105 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.reference;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.microbean.bean.Bean;
+import org.microbean.bean.Id;
+
+import org.microbean.proxy.Proxy;
+
+import org.microbean.reference.Fixtures.FixtureInstances;
+import org.microbean.reference.RecordingInstances.Edge;
+
+import org.junit.jupiter.api.Test;
+
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class TestRecordingInstances {
+
+  private TestRecordingInstances() {
+    super();
+  }
+
+  @Test
+  final void testEdgesCountsAndWrite(@TempDir final Path dir) throws Exception {
+    final FixtureInstances instances = new FixtureInstances();
+    final RecordingInstances recorder = new RecordingInstances(instances);
+    final Bean<Object> b = Fixtures.bean("java.lang.Integer", c -> new Object());
+    final Bean<Object> p = Fixtures.bean("java.lang.Long", c -> new Object());
+    final Bean<Object> c0 = Fixtures.bean("java.lang.Short", c -> new Object());
+    final Bean<Object> c1 = Fixtures.bean("java.lang.Byte", c -> new Object());
+    instances.proxiable.add(p.id());
+    // a acquires b directly, p through a client proxy that is resolved only later, and c0 and c1 on virtual threads.
+    final Bean<Object> a = Fixtures.bean("java.lang.String", c -> {
+        c.reference(b);
+        ((Request<?, ?>)c).referencesConcurrently(List.of(c0, c1));
+        return c.reference(p);
+      });
+
+    try (final Request<?, ?> root = Fixtures.request(recorder)) {
+      final Proxy<?> proxy = (Proxy<?>)root.reference(a);
+      proxy.$proxied();
+      proxy.$proxied();
+    }
+
+    final Map<List<Id>, Long> counts = new HashMap<>();
+    for (final Edge e : recorder.edges()) {
+      assertTrue(e.nanos() >= 0L);
+      counts.put(Arrays.asList(e.parent(), e.child()), e.count());
+    }
+    final Map<List<Id>, Long> expected = new HashMap<>();
+    expected.put(Arrays.asList(null, a.id()), 1L);
+    expected.put(List.of(a.id(), b.id()), 1L);
+    expected.put(List.of(a.id(), p.id()), 1L); // acquired once, though used twice
+    expected.put(List.of(a.id(), c0.id()), 1L);
+    expected.put(List.of(a.id(), c1.id()), 1L);
+    assertEquals(expected, counts);
+
+    final Path file = dir.resolve("edges.tsv");
+    recorder.write(file);
+    final List<String> lines = Files.readAllLines(file);
+    assertEquals(5, lines.size());
+    long total = 0L;
+    int roots = 0;
+    for (final String line : lines) {
+      final String[] fields = line.split("\t", -1);
+      assertEquals(4, fields.length);
+      total += Long.parseLong(fields[0]);
+      assertTrue(Long.parseLong(fields[1]) >= 0L);
+      if (fields[2].isEmpty()) {
+        ++roots;
+        assertEquals("1", fields[0]);
+      }
+      assertFalse(fields[3].isEmpty());
+    }
+    assertEquals(5L, total);
+    assertEquals(1, roots);
+
+    recorder.reset();
+    assertTrue(recorder.edges().isEmpty());
+  }
+
+}
@@ -0,0 +1,168 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.reference;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.microbean.bean.Bean;
+
+import org.microbean.proxy.Proxy;
+
+import org.microbean.reference.Fixtures.FixtureInstances;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class TestReferencesConcurrently {
+
+  private TestReferencesConcurrently() {
+    super();
+  }
+
+  @Test
+  final void testOrderIsPreserved() {
+    final List<Bean<?>> beans = new ArrayList<>();
+    final List<Object> expected = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      final String s = String.valueOf(i);
+      final long sleep = 8 - i; // later beans finish first
+      beans.add(Fixtures.bean(c -> {
+            try {
+              Thread.sleep(sleep);
+            } catch (final InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            return s;
+          }));
+      expected.add(s);
+    }
+    try (final Request<?, ?> root = Fixtures.request(new FixtureInstances())) {
+      assertEquals(expected, root.referencesConcurrently(beans));
+    }
+  }
+
+  @Test
+  final void testEachSiblingHasItsOwnChildTree() {
+    final Object key = new Object();
+    final AtomicInteger destroyed = new AtomicInteger();
+    final Set<Object> creations = Collections.synchronizedSet(new HashSet<>());
+    final List<Bean<?>> beans = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      beans.add(Fixtures.bean(c -> {
+            creations.add(c);
+            // Would fail if siblings shared a DestructorTree.
+            assertTrue(((DestructorRegistry)c).register(key, destroyed::incrementAndGet));
+            return new Object();
+          }));
+    }
+    final Request<?, ?> root = Fixtures.request(new FixtureInstances());
+    try (root) {
+      assertEquals(4, root.referencesConcurrently(beans).size());
+      assertEquals(4, creations.size());
+      assertFalse(creations.contains(root));
+      assertEquals(0, destroyed.get());
+    }
+    assertEquals(4, destroyed.get());
+  }
+
+  @Test
+  final void testFailuresAreAggregated() {
+    final AtomicInteger destroyed = new AtomicInteger();
+    final List<Bean<?>> beans = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      final String message = String.valueOf(i);
+      beans.add(Fixtures.bean(c -> {
+            throw new IllegalStateException(message);
+          }));
+    }
+    beans.add(Fixtures.bean(c -> {
+          final Object o = new Object();
+          ((DestructorRegistry)c).register(o, destroyed::incrementAndGet);
+          return o;
+        }));
+    final Request<?, ?> root = Fixtures.request(new FixtureInstances());
+    try (root) {
+      final IllegalStateException e =
+        assertThrows(IllegalStateException.class, () -> root.referencesConcurrently(beans));
+      assertEquals(2, e.getSuppressed().length);
+      final Set<String> messages = new HashSet<>();
+      messages.add(e.getMessage());
+      for (final Throwable t : e.getSuppressed()) {
+        messages.add(t.getMessage());
+      }
+      assertEquals(Set.of("0", "1", "2"), messages);
+    }
+    // The successfully created contextual instance remained registered.
+    assertEquals(1, destroyed.get());
+  }
+
+  @Test
+  final void testInterruption() {
+    final List<Bean<?>> beans = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      beans.add(Fixtures.bean(c -> {
+            try {
+              Thread.sleep(60_000L); // interrupted when the executor is closed
+            } catch (final InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            return new Object();
+          }));
+    }
+    try (final Request<?, ?> root = Fixtures.request(new FixtureInstances())) {
+      Thread.currentThread().interrupt();
+      try {
+        assertThrows(ReferenceException.class, () -> root.referencesConcurrently(beans));
+        assertTrue(Thread.currentThread().isInterrupted());
+      } finally {
+        Thread.interrupted(); // clear it
+      }
+    }
+  }
+
+  @Test
+  final void testSingleDeferralRunsInline() {
+    final FixtureInstances instances = new FixtureInstances();
+    final Thread caller = Thread.currentThread();
+    final Bean<Thread> proxiable = Fixtures.bean(c -> Thread.currentThread());
+    instances.proxiable.add(proxiable.id());
+    final Bean<Thread> deferred = Fixtures.bean(c -> Thread.currentThread());
+    try (final Request<?, ?> root = Fixtures.request(instances)) {
+      final List<?> references = root.referencesConcurrently(List.of(proxiable, deferred));
+      assertTrue(references.get(0) instanceof Proxy<?>);
+      assertSame(caller, references.get(1));
+
+      // With more than one deferral, each runs on its own virtual thread.
+      final List<?> threads = root.referencesConcurrently(List.of(deferred, deferred));
+      assertNotSame(threads.get(0), threads.get(1));
+      for (final Object t : threads) {
+        assertNotSame(caller, t);
+        assertTrue(((Thread)t).isVirtual());
+      }
+    }
+  }
+
+}
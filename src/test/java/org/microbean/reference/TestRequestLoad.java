@@ -0,0 +1,488 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.reference;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+
+import java.lang.management.ManagementFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.time.Instant;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.microbean.bean.Bean;
+import org.microbean.bean.BeanTypeList;
+import org.microbean.bean.BeanTypes;
+import org.microbean.bean.Creation;
+import org.microbean.bean.Id;
+
+import org.microbean.construct.DefaultDomain;
+import org.microbean.construct.Domain;
+
+import org.microbean.construct.element.SyntheticAnnotationMirror;
+import org.microbean.construct.element.SyntheticAnnotationTypeElement;
+
+import org.junit.jupiter.api.Test;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A load generator that simulates many concurrent root {@link Request}s, each acquiring a contextual reference for the
+ * root of a synthetic dependency graph and then being {@linkplain Request#close() closed}, and that reports latency
+ * percentiles and allocation rates for both operations.
+ *
+ * <p>This test runs only when the {@code org.microbean.reference.load} system property is {@code true}, for example:</p>
+ *
+ * <blockquote><pre>mvn test -Dtest=TestRequestLoad -Dorg.microbean.reference.load=true -Dorg.microbean.reference.load.shape=tree</pre></blockquote>
+ *
+ * <p>It is configured by the following system properties, all optional:</p>
+ *
+ * <dl>
+ *
+ * <dt>{@code org.microbean.reference.load.threads}</dt><dd>The number of concurrent threads; default {@code 8}</dd>
+ *
+ * <dt>{@code org.microbean.reference.load.threadKinds}</dt><dd>A comma-separated list containing {@code platform},
+ * {@code virtual} or both; each kind of thread is run separately; default {@code platform,virtual}</dd>
+ *
+ * <dt>{@code org.microbean.reference.load.requests}</dt><dd>The number of root {@link Request}s each thread processes,
+ * after warmup; default {@code 20000}</dd>
+ *
+ * <dt>{@code org.microbean.reference.load.warmup}</dt><dd>The number of root {@link Request}s each thread processes,
+ * without recording, before it starts recording; default {@code 5000}</dd>
+ *
+ * <dt>{@code org.microbean.reference.load.shape}</dt><dd>{@code chain}, in which each {@link Bean} depends on the next;
+ * {@code fan}, in which the first {@link Bean} depends on all others; or {@code tree}, in which {@link Bean} <i>n</i>
+ * depends on {@link Bean}s 2<i>n</i>+1 and 2<i>n</i>+2; default {@code tree}</dd>
+ *
+ * <dt>{@code org.microbean.reference.load.beans}</dt><dd>The number of {@link Bean}s in the graph; default {@code
+ * 15}</dd>
+ *
+ * <dt>{@code org.microbean.reference.load.proxiable}</dt><dd>The number of {@link Bean}s, counting from the last, that
+ * are {@linkplain Instances#proxiable(Id) proxiable}; their client proxies are resolved as soon as they are acquired;
+ * default {@code 0}</dd>
+ *
+ * <dt>{@code org.microbean.reference.load.lifo}</dt><dd>Whether each root {@link Request} uses a {@link
+ * DefaultDestructorTree} in {@linkplain DefaultDestructorTree#DefaultDestructorTree(boolean) LIFO mode}; default
+ * {@code false}</dd>
+ *
+ * <dt>{@code org.microbean.reference.load.caching}</dt><dd>Whether client proxies are produced by a {@link
+ * CachingClientProxier}, whose epoch for each proxiable {@link Id} is the number of root {@link Request}s so far
+ * started on the current thread; default {@code false}</dd>
+ *
+ * <dt>{@code org.microbean.reference.load.destructorNanos}</dt><dd>The number of nanoseconds each contextual
+ * instance's {@link DestructorRegistry.Destructor} spends busy-waiting when run; default {@code 0}</dd>
+ *
+ * <dt>{@code org.microbean.reference.load.report}</dt><dd>The file to which the report is appended; default {@code
+ * load-report.txt} in the directory named by the {@code project.build.directory} system property, or in the current
+ * directory</dd>
+ *
+ * </dl>
+ *
+ * <p>Allocation under load is measured across the whole JVM with {@link
+ * com.sun.management.ThreadMXBean#getTotalThreadAllocatedBytes()}, and so includes the harness's own allocations.
+ * Allocation per operation is measured separately, single-threaded, on a platform thread.</p>
+ */
+@EnabledIfSystemProperty(named = "org.microbean.reference.load", matches = "true")
+final class TestRequestLoad {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  private static final String PREFIX = "org.microbean.reference.load.";
+
+
+  /*
+   * Constructors.
+   */
+
+
+  private TestRequestLoad() {
+    super();
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  @Test
+  final void testLoad() throws InterruptedException, IOException {
+    final int threads = Integer.getInteger(PREFIX + "threads", 8);
+    final int requests = Integer.getInteger(PREFIX + "requests", 20_000);
+    final int warmup = Integer.getInteger(PREFIX + "warmup", 5_000);
+    final String shape = System.getProperty(PREFIX + "shape", "tree");
+    final int beanCount = Integer.getInteger(PREFIX + "beans", 15);
+    final int proxiableCount = Integer.getInteger(PREFIX + "proxiable", 0);
+    final long destructorNanos = Long.getLong(PREFIX + "destructorNanos", 0L);
+    final boolean lifo = Boolean.getBoolean(PREFIX + "lifo");
+    final boolean caching = Boolean.getBoolean(PREFIX + "caching");
+    final Path report = Path.of(System.getProperty(PREFIX + "report",
+                                                   Path.of(System.getProperty("project.build.directory", "."),
+                                                           "load-report.txt").toString()));
+
+    final Graph graph =
+      new Graph(new DefaultDomain(), shape, beanCount, proxiableCount, destructorNanos, lifo, caching);
+
+    final StringBuilder sb = new StringBuilder();
+    sb.append("# ").append(Instant.now())
+      .append(" shape=").append(shape)
+      .append(" beans=").append(beanCount)
+      .append(" proxiable=").append(proxiableCount)
+      .append(" destructorNanos=").append(destructorNanos)
+      .append(" lifo=").append(lifo)
+      .append(" caching=").append(caching)
+      .append(" threads=").append(threads)
+      .append(" requests=").append(requests)
+      .append(" warmup=").append(warmup)
+      .append(" jvm=").append(Runtime.version())
+      .append('\n');
+
+    // Single-threaded allocation per operation, on this (platform) thread.
+    final long[] perOperation = graph.bytesPerOperation(Math.max(warmup, 1_000), Math.max(requests, 1_000));
+    sb.append(String.format("allocation (single-threaded): reference %d B/op, close %d B/op%n",
+                            perOperation[0], perOperation[1]));
+
+    for (final String kind : System.getProperty(PREFIX + "threadKinds", "platform,virtual").split(",")) {
+      final Result r = graph.run(kind.trim(), threads, warmup, requests);
+      sb.append(String.format("%-8s reference p50 %,9d ns  p99 %,9d ns  p999 %,9d ns%n",
+                              kind.trim(), r.reference(50.0), r.reference(99.0), r.reference(99.9)));
+      sb.append(String.format("%-8s close     p50 %,9d ns  p99 %,9d ns  p999 %,9d ns%n",
+                              kind.trim(), r.close(50.0), r.close(99.0), r.close(99.9)));
+      sb.append(String.format("%-8s throughput %,.0f requests/s, allocation %,.1f MB/s, %,d B/request%n",
+                              kind.trim(),
+                              r.operations * 1e9 / r.nanos,
+                              r.bytes * 1e9 / r.nanos / (1024 * 1024),
+                              r.bytes / r.operations));
+    }
+
+    Files.createDirectories(report.toAbsolutePath().getParent());
+    try (final BufferedWriter w = Files.newBufferedWriter(report, UTF_8,
+                                                          CREATE,
+                                                          APPEND)) {
+      w.append(sb).append('\n');
+    }
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  private static final com.sun.management.ThreadMXBean threadMXBean() {
+    return (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+  }
+
+  // A "client proxy" that resolves its contextual instance on first use.
+  @SuppressWarnings("unchecked")
+  private static final <R> R clientProxy(final Id id, final Supplier<? extends R> s) {
+    return (R)new LazyProxy(s);
+  }
+
+  // Resolves the supplied contextual reference, and checks that it is the Node for the Bean at the supplied index, as
+  // it would not be if client proxies for different Beans were confused with one another.
+  private static final Node node(final Object reference, final int index) {
+    final Object instance = reference instanceof LazyProxy p ? p.get() : reference;
+    assertTrue(instance instanceof Node n && n.index() == index, () -> "expected Node " + index + "; got " + instance);
+    return (Node)instance;
+  }
+
+  private static final void spin(final long nanos) {
+    final long end = System.nanoTime() + nanos;
+    while (System.nanoTime() - end < 0L) {
+      Thread.onSpinWait();
+    }
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  private static final class Graph implements Instances {
+
+    private final Domain domain;
+
+    private final List<Bean<Object>> beans;
+
+    private final Set<Id> proxiable;
+
+    private final boolean lifo;
+
+    private final ClientProxier cp;
+
+    // The number of root Requests started on the current thread; the epoch of a CachingClientProxier, if any.
+    private final ThreadLocal<long[]> epoch;
+
+    private Graph(final Domain domain,
+                  final String shape,
+                  final int beanCount,
+                  final int proxiableCount,
+                  final long destructorNanos,
+                  final boolean lifo,
+                  final boolean caching) {
+      super();
+      if (beanCount < 1 || proxiableCount < 0 || proxiableCount >= beanCount) {
+        throw new IllegalArgumentException("beans: " + beanCount + "; proxiable: " + proxiableCount);
+      }
+      this.domain = domain;
+      final Set<Id> proxiable = new HashSet<>();
+      this.lifo = lifo;
+      this.epoch = ThreadLocal.withInitial(() -> new long[1]);
+      final LongSupplier epoch = () -> this.epoch.get()[0];
+      this.cp = caching ?
+        new CachingClientProxier(TestRequestLoad::clientProxy, id -> this.proxiable(id) ? epoch : null) :
+        TestRequestLoad::clientProxy;
+      final BeanTypeList types = new BeanTypes(domain).beanTypes(domain.javaLangObjectType());
+      final Bean<?>[] beans = new Bean<?>[beanCount];
+      // Create from the last Bean to the first, since Beans depend only on later Beans.
+      for (int i = beanCount - 1; i >= 0; i--) {
+        final List<Integer> dependencies = new ArrayList<>();
+        switch (shape) {
+        case "chain" -> {
+          if (i + 1 < beanCount) {
+            dependencies.add(i + 1);
+          }
+        }
+        case "fan" -> {
+          if (i == 0) {
+            for (int j = 1; j < beanCount; j++) {
+              dependencies.add(j);
+            }
+          }
+        }
+        case "tree" -> {
+          for (int j = 2 * i + 1; j <= 2 * i + 2 && j < beanCount; j++) {
+            dependencies.add(j);
+          }
+        }
+        default -> throw new IllegalArgumentException("shape: " + shape);
+        }
+        // Each Bean has its own qualifier, and therefore its own Id, so that a CachingClientProxier caches each
+        // separately.
+        final Id id =
+          new Id(types, List.of(new SyntheticAnnotationMirror(new SyntheticAnnotationTypeElement("Node" + i))));
+        if (i >= beanCount - proxiableCount) {
+          proxiable.add(id);
+        }
+        final int index = i;
+        beans[i] = new Bean<>(id, c -> {
+            final Object[] references = new Object[dependencies.size()];
+            for (int j = 0; j < references.length; j++) {
+              final int d = dependencies.get(j);
+              references[j] = c.reference(beans[d]);
+              node(references[j], d); // use it
+            }
+            final Node node = new Node(index, references);
+            ((DestructorRegistry)c).register(node, () -> spin(destructorNanos));
+            return node;
+        });
+      }
+      this.proxiable = Set.copyOf(proxiable);
+      @SuppressWarnings("unchecked")
+      final List<Bean<Object>> list = (List<Bean<Object>>)(List<?>)List.of(beans);
+      this.beans = list;
+    }
+
+    @Override // Instances
+    public final boolean proxiable(final Id id) {
+      return this.proxiable.contains(id);
+    }
+
+    @Override // Instances
+    public final <I> Supplier<? extends I> supplier(final Bean<I> bean, final Creation<I> creation) {
+      return () -> bean.factory().create(creation);
+    }
+
+    @Override // Instances
+    public final <I> I instance(final Bean<I> bean, final Creation<I> creation) {
+      return bean.factory().create(creation);
+    }
+
+    private final Request<?, ?> newRequest() {
+      ++this.epoch.get()[0];
+      return new Request<>(this.domain, a -> List.of(), this, new DefaultDestructorTree(this.lifo), this.cp);
+    }
+
+    // Runs one root Request, recording its latencies at the supplied index if the arrays are non-null.
+    private final void request(final long[] references, final long[] closes, final int index) {
+      final Request<?, ?> r = this.newRequest();
+      final long start = System.nanoTime();
+      final Object reference = r.reference(this.beans.get(0));
+      node(reference, 0);
+      final long acquired = System.nanoTime();
+      r.close();
+      final long closed = System.nanoTime();
+      if (references != null) {
+        references[index] = acquired - start;
+        closes[index] = closed - acquired;
+      }
+    }
+
+    private final Result run(final String kind, final int threads, final int warmup, final int requests)
+      throws InterruptedException {
+      final ExecutorService e = switch (kind) {
+      case "platform" -> Executors.newFixedThreadPool(threads);
+      case "virtual" -> Executors.newVirtualThreadPerTaskExecutor();
+      default -> throw new IllegalArgumentException("threadKind: " + kind);
+      };
+      final long[][] references = new long[threads][requests];
+      final long[][] closes = new long[threads][requests];
+      final CountDownLatch warm = new CountDownLatch(threads);
+      final CountDownLatch go = new CountDownLatch(1);
+      final List<Future<?>> futures = new ArrayList<>(threads);
+      final long startBytes;
+      final long start;
+      final long nanos;
+      final long bytes;
+      try (e) {
+        for (int t = 0; t < threads; t++) {
+          final int thread = t;
+          futures.add(e.submit(() -> {
+                for (int i = 0; i < warmup; i++) {
+                  this.request(null, null, i);
+                }
+                warm.countDown();
+                go.await();
+                for (int i = 0; i < requests; i++) {
+                  this.request(references[thread], closes[thread], i);
+                }
+                return null;
+              }));
+        }
+        warm.await();
+        startBytes = threadMXBean().getTotalThreadAllocatedBytes();
+        start = System.nanoTime();
+        go.countDown();
+        for (final Future<?> f : futures) {
+          try {
+            f.get();
+          } catch (final ExecutionException x) {
+            throw new AssertionError(x.getCause().getMessage(), x.getCause());
+          }
+        }
+        nanos = System.nanoTime() - start;
+        bytes = threadMXBean().getTotalThreadAllocatedBytes() - startBytes;
+      }
+      return new Result(flatten(references), flatten(closes), (long)threads * requests, nanos, bytes);
+    }
+
+    // Returns single-threaded allocation per operation: { reference, close }.
+    private final long[] bytesPerOperation(final int warmup, final int requests) {
+      final com.sun.management.ThreadMXBean mx = threadMXBean();
+      final long thread = Thread.currentThread().threadId();
+      long referenceBytes = 0L;
+      long closeBytes = 0L;
+      for (final int n : new int[] { warmup, requests }) {
+        final Request<?, ?>[] rs = new Request<?, ?>[n];
+        for (int i = 0; i < n; i++) {
+          rs[i] = this.newRequest();
+        }
+        long before = mx.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < n; i++) {
+          node(rs[i].reference(this.beans.get(0)), 0);
+        }
+        referenceBytes = mx.getThreadAllocatedBytes(thread) - before;
+        before = mx.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < n; i++) {
+          rs[i].close();
+        }
+        closeBytes = mx.getThreadAllocatedBytes(thread) - before;
+      }
+      return new long[] { referenceBytes / requests, closeBytes / requests };
+    }
+
+    private static final long[] flatten(final long[][] a) {
+      final long[] flat = new long[a.length * a[0].length];
+      for (int i = 0; i < a.length; i++) {
+        System.arraycopy(a[i], 0, flat, i * a[i].length, a[i].length);
+      }
+      Arrays.sort(flat);
+      return flat;
+    }
+
+  }
+
+  private static final record Result(long[] references, long[] closes, long operations, long nanos, long bytes) {
+
+    private final long reference(final double percentile) {
+      return percentile(this.references, percentile);
+    }
+
+    private final long close(final double percentile) {
+      return percentile(this.closes, percentile);
+    }
+
+    // Nearest-rank; sorted must be sorted.
+    private static final long percentile(final long[] sorted, final double percentile) {
+      final int rank = (int)Math.ceil(percentile / 100.0 * sorted.length);
+      return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+  }
+
+  private static final record Node(int index, Object[] dependencies) {}
+
+  private static final class LazyProxy implements Supplier<Object> {
+
+    private final Supplier<?> supplier;
+
+    private Object instance;
+
+    private LazyProxy(final Supplier<?> supplier) {
+      super();
+      this.supplier = supplier;
+    }
+
+    @Override // Supplier<Object>
+    public final Object get() {
+      Object instance = this.instance;
+      if (instance == null) {
+        instance = this.instance = this.supplier.get();
+      }
+      return instance;
+    }
+
+  }
+
+}
@@ -0,0 +1,155 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.reference;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.lang.model.AnnotatedConstruct;
+
+import javax.lang.model.element.Element;
+
+import org.microbean.assign.Annotated;
+import org.microbean.assign.Selectable;
+
+import org.microbean.bean.AmbiguousResolutionException;
+import org.microbean.bean.Bean;
+import org.microbean.bean.UnsatisfiedResolutionException;
+
+import org.microbean.reference.Fixtures.FixtureInstances;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class TestRequestSelection {
+
+  private final Map<Bean<?>, Element> elements;
+
+  private final CountingSelectable<Annotated<? extends AnnotatedConstruct>, Bean<?>> filtering;
+
+  private final AtomicInteger selections;
+
+  private final Annotated<? extends AnnotatedConstruct> unsatisfied;
+
+  private final Annotated<? extends AnnotatedConstruct> single;
+
+  private final Annotated<? extends AnnotatedConstruct> ambiguous;
+
+  private final Object instance;
+
+  private TestRequestSelection() {
+    super();
+    this.elements = new IdentityHashMap<>(); // Fixtures.bean(Factory) Beans are equal to one another
+    this.selections = new AtomicInteger();
+    this.unsatisfied = Annotated.of((Element)Fixtures.domain.typeElement("java.lang.String"));
+    this.single = Annotated.of((Element)Fixtures.domain.typeElement("java.lang.Integer"));
+    this.ambiguous = Annotated.of((Element)Fixtures.domain.typeElement("java.lang.Long"));
+    this.instance = new Object();
+    this.elements.put(Fixtures.bean(c -> this.instance), (Element)this.single.annotated());
+    this.elements.put(Fixtures.bean(c -> new Object()), (Element)this.ambiguous.annotated());
+    this.elements.put(Fixtures.bean(c -> new Object()), (Element)this.ambiguous.annotated());
+    this.filtering =
+      CountingSelectable.filtering(this.elements.keySet(), (a, b) -> this.elements.get(b).equals(a.annotated()));
+  }
+
+  @Test
+  final void testCountingSelectableSelectionIsNotMaterialized() {
+    final Counting counting = new Counting();
+    try (final Request<?, ?> root =
+         new Request<>(Fixtures.domain, counting, new FixtureInstances(), Fixtures::clientProxy)) {
+      this.assertSelection(root);
+      // Only the ambiguous get() materializes the selection, to report its alternates.
+      assertEquals(1, this.selections.get());
+    }
+  }
+
+  @Test
+  final void testPlainSelectableResultsAreTheSame() {
+    final Selectable<Annotated<? extends AnnotatedConstruct>, Bean<?>> plain = this.filtering::select;
+    try (final Request<?, ?> root =
+         new Request<>(Fixtures.domain, plain, new FixtureInstances(), Fixtures::clientProxy)) {
+      this.assertSelection(root);
+    }
+  }
+
+  private final void assertSelection(final Request<?, ?> root) {
+    final Request<?, ?> u = (Request<?, ?>)root.references(this.unsatisfied);
+    assertTrue(u.isUnsatisfied());
+    assertFalse(u.isAmbiguous());
+    assertEquals(0, u.size());
+    assertThrows(UnsatisfiedResolutionException.class, u::get);
+
+    final Request<?, ?> s = (Request<?, ?>)root.references(this.single);
+    assertFalse(s.isUnsatisfied());
+    assertFalse(s.isAmbiguous());
+    assertEquals(1, s.size());
+    assertSame(this.instance, s.get());
+
+    final Request<?, ?> a = (Request<?, ?>)root.references(this.ambiguous);
+    assertFalse(a.isUnsatisfied());
+    assertTrue(a.isAmbiguous());
+    assertEquals(2, a.size());
+    final AmbiguousResolutionException e = assertThrows(AmbiguousResolutionException.class, a::get);
+    assertEquals(this.filtering.select(this.ambiguous), e.alternates());
+  }
+
+  // A CountingSelectable that counts the number of times its selection is materialized.
+  private final class Counting implements CountingSelectable<Annotated<? extends AnnotatedConstruct>, Bean<?>> {
+
+    private Counting() {
+      super();
+    }
+
+    @Override // Selectable<Annotated<? extends AnnotatedConstruct>, Bean<?>>
+    public final List<Bean<?>> select(final Annotated<? extends AnnotatedConstruct> a) {
+      selections.incrementAndGet();
+      return filtering.select(a);
+    }
+
+    @Override // CountingSelectable<Annotated<? extends AnnotatedConstruct>, Bean<?>>
+    public final int size(final Annotated<? extends AnnotatedConstruct> a) {
+      return filtering.size(a);
+    }
+
+    @Override // CountingSelectable<Annotated<? extends AnnotatedConstruct>, Bean<?>>
+    public final boolean isUnsatisfied(final Annotated<? extends AnnotatedConstruct> a) {
+      return filtering.isUnsatisfied(a);
+    }
+
+    @Override // CountingSelectable<Annotated<? extends AnnotatedConstruct>, Bean<?>>
+    public final boolean isAmbiguous(final Annotated<? extends AnnotatedConstruct> a) {
+      return filtering.isAmbiguous(a);
+    }
+
+    @Override // CountingSelectable<Annotated<? extends AnnotatedConstruct>, Bean<?>>
+    public final Bean<?> unique(final Annotated<? extends AnnotatedConstruct> a) {
+      try {
+        return filtering.unique(a);
+      } catch (final AmbiguousResolutionException e) {
+        selections.incrementAndGet(); // FilteringSelectable materializes the alternates
+        throw e;
+      }
+    }
+
+  }
+
+}
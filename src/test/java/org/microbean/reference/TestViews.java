@@ -0,0 +1,102 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.reference;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.lang.model.AnnotatedConstruct;
+
+import org.microbean.assign.Annotated;
+
+import org.microbean.bean.Bean;
+import org.microbean.bean.References;
+
+import org.microbean.reference.Fixtures.FixtureInstances;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+final class TestViews {
+
+  private TestViews() {
+    super();
+  }
+
+  @Test
+  final void testViewsAreCachedAndShared() {
+    final Request<?, ?> root = Fixtures.request(new FixtureInstances());
+    final Annotated<? extends AnnotatedConstruct> a = annotated();
+    final Annotated<? extends AnnotatedConstruct> b = annotated();
+    final References<?> va = root.references(a);
+    assertNotSame(root, va);
+    assertSame(va, root.references(a));
+    // Views derived from views share the same cache.
+    final References<?> vb = root.references(b);
+    assertSame(vb, va.references(b));
+    assertSame(va, vb.references(a));
+    assertSame(root, va.references((Annotated<? extends AnnotatedConstruct>)null));
+    root.close();
+  }
+
+  @Test
+  final void testCacheIsBounded() {
+    final Request<?, ?> root = Fixtures.request(new FixtureInstances());
+    // The root Request itself occupies one of the 16 entries.
+    final List<Annotated<? extends AnnotatedConstruct>> as = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      as.add(annotated());
+      root.references(as.get(i));
+    }
+    for (int i = 0; i < 15; i++) {
+      assertSame(root.references(as.get(i)), root.references(as.get(i)));
+    }
+    for (int i = 15; i < 20; i++) {
+      assertNotSame(root.references(as.get(i)), root.references(as.get(i)));
+    }
+    root.close();
+  }
+
+  @Test
+  final void testViewsShareTheRootDestructorTree() {
+    final AtomicInteger created = new AtomicInteger();
+    final AtomicInteger destroyed = new AtomicInteger();
+    final Bean<Object> bean = Fixtures.bean(c -> {
+        created.incrementAndGet();
+        final Object o = new Object();
+        ((DestructorRegistry)c).register(o, destroyed::incrementAndGet);
+        return o;
+      });
+    final Request<?, ?> root =
+      new Request<>(Fixtures.domain, x -> List.of(bean), new FixtureInstances(), Fixtures::clientProxy);
+    final References<?> va = root.references(annotated());
+    final References<?> vb = va.references(annotated());
+    for (final Object o : va) {}
+    for (final Object o : vb) {}
+    assertEquals(2, created.get());
+    assertEquals(0, destroyed.get());
+    root.close();
+    assertEquals(2, destroyed.get());
+  }
+
+  private static final Annotated<? extends AnnotatedConstruct> annotated() {
+    return Annotated.of(Fixtures.domain.javaLangObjectType()); // a new instance each time; views are keyed by identity
+  }
+
+}